@@ -0,0 +1,25 @@
+package dev.guilhermeluan.todo_list.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TaskImportConfig {
+
+    // Fila limitada: TaskImportService reserva uma vaga do pool ou da fila antes de copiar o arquivo para o disco,
+    // então importações além da capacidade são recusadas sem gravar nada
+    @Bean
+    public ThreadPoolTaskExecutor taskImportExecutor(
+            @Value("${tasks.import.max-concurrent:2}") int maxConcurrent,
+            @Value("${tasks.import.queue-capacity:10}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("task-import-");
+        return executor;
+    }
+}
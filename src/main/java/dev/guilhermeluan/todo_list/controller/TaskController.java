@@ -1,8 +1,16 @@
 package dev.guilhermeluan.todo_list.controller;
 
 import dev.guilhermeluan.todo_list.dto.*;
+import dev.guilhermeluan.todo_list.infra.security.AuthenticatedUser;
 import dev.guilhermeluan.todo_list.model.*;
+import dev.guilhermeluan.todo_list.service.TaskBatchService;
+import dev.guilhermeluan.todo_list.service.TaskETag;
+import dev.guilhermeluan.todo_list.service.TaskFileFormat;
+import dev.guilhermeluan.todo_list.service.TaskExportService;
+import dev.guilhermeluan.todo_list.service.TaskImportJob;
+import dev.guilhermeluan.todo_list.service.TaskImportService;
 import dev.guilhermeluan.todo_list.service.TaskService;
+import dev.guilhermeluan.todo_list.service.TaskSummaryService;
 import dev.guilhermeluan.todo_list.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,19 +21,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("v1/tasks")
@@ -35,11 +52,20 @@ public class TaskController {
     private final TaskService service;
     private final TaskMapper mapper;
     private final UserService userService;
+    private final TaskBatchService batchService;
+    private final TaskSummaryService summaryService;
+    private final TaskExportService exportService;
+    private final TaskImportService importService;
 
-    public TaskController(TaskService service, TaskMapper mapper, UserService userService) {
+    public TaskController(TaskService service, TaskMapper mapper, UserService userService, TaskBatchService batchService,
+                          TaskSummaryService summaryService, TaskExportService exportService, TaskImportService importService) {
         this.service = service;
         this.mapper = mapper;
         this.userService = userService;
+        this.batchService = batchService;
+        this.summaryService = summaryService;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
     @PostMapping
@@ -96,10 +122,9 @@ public class TaskController {
                     )
             )
             @RequestBody @Valid TaskPostRequestDTO request,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
         Task taskToSave = mapper.toTask(request);
-        User user = userService.findUserByUsernameOrThrowNotFound(userDetails.getUsername());
-        taskToSave.setUser(user);
+        taskToSave.setUser(userService.getReferenceById(authenticatedUser.id()));
 
         Task taskSaved = service.save(taskToSave);
 
@@ -108,6 +133,47 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Criar tarefas em lote",
+            description = "Cria várias tarefas principais, opcionalmente com subtarefas, em uma única transação. Cada item é validado individualmente e o resultado é devolvido na mesma ordem do envio. Por padrão o lote é rejeitado inteiro se algum item for inválido; com partial=true os itens válidos são criados e os inválidos são reportados."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Tarefas criadas com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBatchResponseDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = """
+                                            {
+                                              "created": 1,
+                                              "failed": 1,
+                                              "results": [
+                                                { "index": 0, "id": 10, "subtaskIds": [11, 12] },
+                                                { "index": 1, "errors": ["title: O campo 'title' é obrigatório."] }
+                                              ]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Lote vazio, acima do tamanho máximo ou sem nenhum item válido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskBatchResponseDTO> createBatch(
+            @RequestBody List<TaskPostRequestDTO> requests,
+            @Parameter(description = "Cria os itens válidos mesmo que outros itens do lote sejam inválidos", example = "false")
+            @RequestParam(defaultValue = "false") boolean partial,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        TaskBatchResponseDTO response = batchService.create(requests, authenticatedUser.id(), partial);
+
+        HttpStatus status = response.created() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @PostMapping({"/{parentId}/subtasks"})
     @Operation(
             summary = "Criar nova subtarefa",
@@ -164,14 +230,12 @@ public class TaskController {
             @RequestBody @Valid TaskPostRequestDTO request,
             @Parameter(description = "ID da tarefa pai", required = true, example = "1")
             @PathVariable("parentId") Long parentId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
 
         Task subTaskToSave = mapper.toTask(request);
-        User user = userService.findUserByUsernameOrThrowNotFound(userDetails.getUsername());
-
-        subTaskToSave.setUser(user);
+        subTaskToSave.setUser(userService.getReferenceById(authenticatedUser.id()));
 
-        Task subTaskSaved = service.createSubTask(parentId, subTaskToSave, user.getId());
+        Task subTaskSaved = service.createSubTask(parentId, subTaskToSave, authenticatedUser.id());
 
         TaskPostResponseDTO response = mapper.toTaskPostResponse(subTaskSaved);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -180,7 +244,7 @@ public class TaskController {
     @GetMapping
     @Operation(
             summary = "Listar tarefas",
-            description = "Retorna uma lista paginada de tarefas com filtros opcionais por status, prioridade e data de vencimento. Suporta ordenação por qualquer campo."
+            description = "Retorna uma lista paginada de tarefas com filtros opcionais por status, prioridade, data ou intervalo de vencimento (dueFrom inclusivo, dueTo exclusivo), tarefas vencidas e busca textual no título e na descrição (q). Suporta ordenação por qualquer campo ou por relevância da busca, padrão quando q é informado."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -232,6 +296,7 @@ public class TaskController {
                             )
                     )
             ),
+            @ApiResponse(responseCode = "400", description = "O intervalo de vencimento é inválido ('dueFrom' deve ser anterior a 'dueTo') ou a ordenação por relevância não tem 'q', usa ASC ou combina outros campos."),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<Page<TaskGetResponseDTO>> listTasks(
@@ -239,25 +304,415 @@ public class TaskController {
             @RequestParam(required = false) TaskStatus status,
             @Parameter(description = "Filtrar por prioridade da tarefa", example = "HIGH")
             @RequestParam(required = false) Priority priority,
-            @Parameter(description = "Filtrar por data de vencimento (formato: YYYY-MM-DD)", example = "2025-08-18")
+            @Parameter(description = "Filtrar por data de vencimento, dia inteiro em UTC (formato: YYYY-MM-DD)", example = "2025-08-18")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @Parameter(description = "Vencimento a partir deste instante, inclusivo (ISO-8601 com fuso)", example = "2025-08-18T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dueFrom,
+            @Parameter(description = "Vencimento antes deste instante, exclusivo (ISO-8601 com fuso)", example = "2025-08-25T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dueTo,
+            @Parameter(description = "true para apenas tarefas vencidas e não concluídas; false para as demais", example = "true")
+            @RequestParam(required = false) Boolean overdue,
+            @Parameter(description = "Buscar pelas palavras no título e na descrição", example = "autenticação")
+            @RequestParam(required = false) String q,
             @Parameter(description = "Número da página (começa em 0)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página", example = "10")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Campo para ordenação (ex: title, dueDate, status, priority)", example = "title")
+            @Parameter(description = "Campo para ordenação (ex: title, dueDate, status, priority ou relevance); padrão relevance quando q é informado e id caso contrário", example = "title")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Direção da ordenação (ASC ou DESC); padrão ASC, e DESC para relevance, que só aceita DESC", example = "ASC")
+            @RequestParam(required = false) String direction,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
+    ) {
+        if (sort == null) {
+            sort = q != null && !q.isBlank() ? TaskService.RELEVANCE_SORT : "id";
+        }
+        if (direction == null) {
+            direction = TaskService.RELEVANCE_SORT.equals(sort) ? "DESC" : "ASC";
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sort));
+
+        Page<TaskGetResponseDTO> tasksResponsePage = service.findAllProjected(authenticatedUser.id(),
+                new TaskFilter(status, priority, dueDate, dueFrom, dueTo, overdue, q), pageable);
+        String eTag = TaskETag.of(tasksResponsePage.getContent(), tasksResponsePage.getTotalElements(),
+                tasksResponsePage.getNumber(), tasksResponsePage.getSize());
+
+        return ResponseEntity.ok().eTag(eTag).body(tasksResponsePage);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(
+            summary = "Listar tarefas por cursor",
+            description = "Retorna tarefas em páginas sequenciais usando um cursor opaco (paginação por chave), sem executar a contagem total. Envie 'cursor' vazio para obter a primeira página e o 'nextCursor' retornado para as seguintes. Aceita os mesmos filtros e ordenação da listagem paginada."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página de tarefas retornada com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskCursorPageResponseDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta por cursor",
+                                    value = """
+                                            {
+                                              "content": [
+                                                {
+                                                  "id": 1,
+                                                  "title": "Desenvolver API de autenticação",
+                                                  "dueDate": "2025-08-18T23:59:00-03:00",
+                                                  "status": "TO_DO",
+                                                  "priority": "HIGH",
+                                                  "subtasks": []
+                                                }
+                                              ],
+                                              "size": 1,
+                                              "numberOfElements": 1,
+                                              "hasNext": true,
+                                              "nextCursor": "eyJzb3J0IjoiZHVlRGF0ZSIsImRpcmVjdGlvbiI6IkFTQyIsInZhbHVlIjoiMjAyNS0wOC0xOFQyMzo1OS0wMzowMCIsImlkIjoxfQ"
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido."),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskCursorPageResponseDTO> listTasksByCursor(
+            @Parameter(description = "Filtrar por status da tarefa", example = "TO_DO")
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Filtrar por prioridade da tarefa", example = "HIGH")
+            @RequestParam(required = false) Priority priority,
+            @Parameter(description = "Filtrar por data de vencimento, dia inteiro em UTC (formato: YYYY-MM-DD)", example = "2025-08-18")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @Parameter(description = "Vencimento a partir deste instante, inclusivo (ISO-8601 com fuso)", example = "2025-08-18T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dueFrom,
+            @Parameter(description = "Vencimento antes deste instante, exclusivo (ISO-8601 com fuso)", example = "2025-08-25T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime dueTo,
+            @Parameter(description = "true para apenas tarefas vencidas e não concluídas; false para as demais", example = "true")
+            @RequestParam(required = false) Boolean overdue,
+            @Parameter(description = "Buscar pelas palavras no título e na descrição", example = "autenticação")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Cursor retornado em 'nextCursor' (vazio para a primeira página)", example = "")
+            @RequestParam String cursor,
+            @Parameter(description = "Tamanho da página", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo para ordenação (id, title, dueDate, status ou priority)", example = "dueDate")
             @RequestParam(defaultValue = "id") String sort,
             @Parameter(description = "Direção da ordenação (ASC ou DESC)", example = "ASC")
             @RequestParam(defaultValue = "ASC") String direction,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sort));
+        TaskCursorPageResponseDTO response = service.findAllByCursor(authenticatedUser.id(),
+                new TaskFilter(status, priority, dueDate, dueFrom, dueTo, overdue, q), sort, Sort.Direction.fromString(direction), cursor, size);
+        String eTag = TaskETag.of(response.content(), response.size(), response.nextCursor());
 
-        Long userId = userService.findUserByUsernameOrThrowNotFound(userDetails.getUsername()).getId();
-        Page<Task> tasksPage = service.findAll(userId, status, priority, dueDate, pageable);
-        Page<TaskGetResponseDTO> tasksResponsePage = tasksPage.map(mapper::toTaskResponseDTO);
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
 
-        return ResponseEntity.ok(tasksResponsePage);
+    @PostMapping("/lookup")
+    @Operation(
+            summary = "Buscar várias tarefas por id",
+            description = "Retorna as tarefas informadas, com suas subtarefas, na ordem da requisição e no mesmo formato da consulta individual. Ids inexistentes e de tarefas de outros usuários não interrompem a consulta: são retornados em 'missingIds' e 'forbiddenIds'."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tarefas retornadas com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskLookupResponseDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = """
+                                            {
+                                              "tasks": [
+                                                {
+                                                  "id": 3,
+                                                  "title": "Revisar pull request",
+                                                  "status": "IN_PROGRESS",
+                                                  "priority": "HIGH",
+                                                  "subtasks": [],
+                                                  "subtaskTotal": 0,
+                                                  "subtaskDone": 0
+                                                }
+                                              ],
+                                              "missingIds": [42],
+                                              "forbiddenIds": [7]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "O lote deve conter entre 1 e x tarefas."),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskLookupResponseDTO> lookup(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Ids das tarefas a buscar",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskLookupRequestDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de requisição",
+                                    value = """
+                                            {
+                                              "ids": [3, 42, 7]
+                                            }
+                                            """
+                            )
+                    )
+            )
+            @RequestBody TaskLookupRequestDTO request,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        return ResponseEntity.ok(batchService.lookup(request, authenticatedUser.id()));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Estatísticas das tarefas",
+            description = "Retorna a quantidade de tarefas principais do usuário autenticado por status e por prioridade, além das vencidas (não concluídas) e das que vencem hoje (UTC). As contagens vêm de um resumo mantido a cada alteração, sem percorrer as tarefas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estatísticas retornadas com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskStatsResponseDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = """
+                                            {
+                                              "total": 12,
+                                              "byStatus": { "TO_DO": 5, "IN_PROGRESS": 4, "DONE": 3 },
+                                              "byPriority": { "LOW": 2, "MEDIUM": 6, "HIGH": 4 },
+                                              "overdue": 2,
+                                              "dueToday": 1
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskStatsResponseDTO> stats(@AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        return ResponseEntity.ok(summaryService.getStats(authenticatedUser.id()));
+    }
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Exportar tarefas",
+            description = "Exporta todas as tarefas e subtarefas do usuário autenticado, uma por linha, em NDJSON (padrão) ou CSV. O conteúdo é transmitido à medida que é lido do banco, sem paginação e com uso de memória constante."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tarefas exportadas com sucesso",
+                    content = {
+                            @Content(
+                                    mediaType = "application/x-ndjson",
+                                    examples = @ExampleObject(
+                                            name = "Exemplo em NDJSON",
+                                            value = """
+                                                    {"id":1,"parentTaskId":null,"title":"Desenvolver API de autenticação","description":null,"dueDate":"2025-08-18T23:59:00-03:00","status":"TO_DO","priority":"HIGH"}
+                                                    {"id":2,"parentTaskId":1,"title":"Criar endpoint de login","description":null,"dueDate":null,"status":"DONE","priority":"HIGH"}
+                                                    """
+                                    )
+                            ),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(responseCode = "400", description = "Formato de arquivo não suportado: xml"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public void export(
+            @Parameter(description = "Formato da exportação (ndjson ou csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            HttpServletResponse response) throws IOException {
+        TaskFileFormat exportFormat = TaskFileFormat.from(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tasks." + exportFormat.getExtension())
+                .build()
+                .toString());
+
+        exportService.export(authenticatedUser.id(), exportFormat, response.getOutputStream());
+    }
+
+    @PostMapping("/import")
+    @Operation(
+            summary = "Importar tarefas",
+            description = "Importa tarefas e subtarefas em NDJSON (padrão) ou CSV, no mesmo formato da exportação. O arquivo é processado em segundo plano, em blocos gravados em transações separadas; linhas inválidas são relatadas sem interromper a importação. Subtarefas referenciam pelo 'parentTaskId' o 'id' de uma tarefa principal que aparece antes no arquivo."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Importação iniciada; o progresso pode ser consultado na URL do cabeçalho Location",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskImportReportDTO.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Formato de arquivo não suportado: xml"),
+            @ApiResponse(responseCode = "413", description = "O arquivo de importação excede o limite de x bytes."),
+            @ApiResponse(responseCode = "429", description = "Limite de importações simultâneas atingido. Tente novamente mais tarde."),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskImportReportDTO> importTasks(
+            @Parameter(description = "Formato do arquivo (ndjson ou csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            HttpServletRequest request) throws IOException {
+        TaskFileFormat importFormat = TaskFileFormat.from(format);
+        TaskImportJob job = importService.start(authenticatedUser.id(), importFormat, request.getInputStream());
+
+        var location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .replaceQuery(null)
+                .path("/{importId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job.toReport());
+    }
+
+    @GetMapping("/import/{importId}")
+    @Operation(
+            summary = "Consultar importação",
+            description = "Retorna o progresso de uma importação do usuário autenticado: linhas processadas, importadas, com erro e os primeiros erros encontrados."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Relatório da importação",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskImportReportDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = """
+                                            {
+                                              "id": "3f1c2a8e-5b7d-4c1e-9a2f-6d8b0e4f7a91",
+                                              "status": "COMPLETED",
+                                              "format": "ndjson",
+                                              "processed": 3,
+                                              "imported": 2,
+                                              "failed": 1,
+                                              "errors": [
+                                                { "line": 3, "id": 7, "message": "title: O campo 'title' é obrigatório." }
+                                              ],
+                                              "errorsTruncated": false,
+                                              "failureReason": null,
+                                              "startedAt": "2025-08-18T12:00:00Z",
+                                              "finishedAt": "2025-08-18T12:00:01Z"
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada com o id: 3f1c2a8e-5b7d-4c1e-9a2f-6d8b0e4f7a91"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskImportReportDTO> findImport(
+            @Parameter(description = "ID da importação", required = true)
+            @PathVariable UUID importId,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        return ResponseEntity.ok(importService.findJob(importId, authenticatedUser.id()).toReport());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Buscar tarefa",
+            description = "Retorna uma tarefa específica com suas subtarefas. A resposta inclui o cabeçalho ETag: envie-o em 'If-None-Match' para receber 304 quando a tarefa não mudou, ou em 'If-Match' nas alterações para evitar sobrescrever mudanças concorrentes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tarefa retornada com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskGetResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "304", description = "A tarefa não mudou desde o ETag informado em 'If-None-Match'"),
+            @ApiResponse(responseCode = "403", description = "A tarefa não pertence ao usuário autenticado."),
+            @ApiResponse(responseCode = "404", description = "Tarefa não encontrada com o id: x"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskGetResponseDTO> findById(
+            @Parameter(description = "ID da tarefa", required = true, example = "1")
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        TaskGetResponseDTO response = service.findProjectedById(id, authenticatedUser.id());
+
+        // Com o ETag na ResponseEntity o Spring responde 304 ao If-None-Match sem serializar o corpo
+        return ResponseEntity.ok().eTag(TaskETag.of(response)).body(response);
+    }
+
+    @PatchMapping("/status")
+    @Operation(
+            summary = "Atualizar status de várias tarefas",
+            description = "Atualiza o status de várias tarefas de uma vez, informadas por lista de ids ou por filtro (mesmos filtros da listagem). Tarefas de outros usuários e tarefas principais com subtarefas pendentes (ao concluir) são rejeitadas e retornadas em 'rejectedIds'."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Status atualizado para as tarefas elegíveis",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBulkStatusResponseDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = """
+                                            {
+                                              "affected": 2,
+                                              "affectedIds": [1, 2],
+                                              "rejectedIds": [3]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Informe a lista de 'ids' ou um 'filter', mas não ambos."),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskBulkStatusResponseDTO> updateStatusInBulk(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Tarefas a atualizar e novo status",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBulkStatusRequestDTO.class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Por ids",
+                                            value = """
+                                                    {
+                                                      "ids": [1, 2, 3],
+                                                      "status": "DONE"
+                                                    }
+                                                    """
+                                    ),
+                                    @ExampleObject(
+                                            name = "Por filtro",
+                                            value = """
+                                                    {
+                                                      "filter": { "status": "TO_DO", "priority": "HIGH" },
+                                                      "status": "IN_PROGRESS"
+                                                    }
+                                                    """
+                                    )
+                            }
+                    )
+            )
+            @RequestBody @Valid TaskBulkStatusRequestDTO request,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        TaskBulkStatusResponseDTO response = batchService.updateStatus(request, authenticatedUser.id());
+
+        return ResponseEntity.ok(response);
     }
 
     @PatchMapping("/{id}/status")
@@ -270,6 +725,7 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Conclua todas as subtarefas pendentes antes de finalizar a tarefa principal."),
             @ApiResponse(responseCode = "403", description = "A tarefa não pertence ao usuário autenticado."),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada com o id: x"),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi modificada por outra requisição. Obtenha a versão atual e tente novamente."),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<Void> updateStatus(
@@ -302,11 +758,11 @@ public class TaskController {
             @RequestBody @Valid UpdateTaskStatusRequestDTO request,
             @Parameter(description = "ID da tarefa", required = true, example = "1")
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.findUserByUsernameOrThrowNotFound(userDetails.getUsername());
-
+            @Parameter(description = "ETag obtido na consulta da tarefa; se não corresponder à versão atual, retorna 412")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
         Task taskToUpdate = mapper.toTask(request);
-        service.updateStatus(taskToUpdate.getStatus(), id, user.getId());
+        service.updateStatus(taskToUpdate.getStatus(), id, authenticatedUser.id(), ifMatch);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
@@ -321,6 +777,7 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
             @ApiResponse(responseCode = "400", description = "Conclua todas as subtarefas pendentes antes de finalizar a tarefa principal."),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada com o id: x"),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi modificada por outra requisição. Obtenha a versão atual e tente novamente."),
             @ApiResponse(responseCode = "403", description = "A tarefa não pertence ao usuário autenticado."),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
@@ -348,17 +805,121 @@ public class TaskController {
             @RequestBody @Valid TaskPutRequestDTO request,
             @Parameter(description = "ID da tarefa", required = true, example = "1")
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.findUserByUsernameOrThrowNotFound(userDetails.getUsername());
-
+            @Parameter(description = "ETag obtido na consulta da tarefa; se não corresponder à versão atual, retorna 412")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
         Task taskToUpdate = mapper.toTask(request);
         taskToUpdate.setId(id);
 
-        service.update(taskToUpdate, user.getId());
+        service.update(taskToUpdate, authenticatedUser.id(), ifMatch);
+
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    @Operation(
+            summary = "Atualizar tarefa parcialmente",
+            description = "Atualiza apenas os campos enviados (JSON Merge Patch). Campos ausentes não são alterados e campos enviados como null são limpos. As subtarefas não são alteradas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tarefa atualizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
+            @ApiResponse(responseCode = "400", description = "Conclua todas as subtarefas pendentes antes de finalizar a tarefa principal."),
+            @ApiResponse(responseCode = "404", description = "Tarefa não encontrada com o id: x"),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi modificada por outra requisição. Obtenha a versão atual e tente novamente."),
+            @ApiResponse(responseCode = "403", description = "A tarefa não pertence ao usuário autenticado."),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<Void> patchTask(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Campos a alterar",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/merge-patch+json",
+                            schema = @Schema(implementation = TaskPatchRequestDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Alterar prioridade e limpar a data de vencimento",
+                                    value = """
+                                            {
+                                              "priority": "HIGH",
+                                              "dueDate": null
+                                            }
+                                            """
+                            )
+                    )
+            )
+            @RequestBody @Valid TaskPatchRequestDTO request,
+            @Parameter(description = "ID da tarefa", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ETag obtido na consulta da tarefa; se não corresponder à versão atual, retorna 412")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        service.patch(id, request, authenticatedUser.id(), ifMatch);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    @DeleteMapping
+    @Operation(
+            summary = "Excluir várias tarefas",
+            description = "Exclui várias tarefas de uma vez, informadas por lista de ids ou por filtro (mesmos filtros da listagem), junto com suas subtarefas. Tarefas de outros usuários ou inexistentes são retornadas em 'rejectedIds'."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tarefas elegíveis excluídas",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBulkDeleteResponseDTO.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = """
+                                            {
+                                              "deleted": 2,
+                                              "deletedIds": [1, 2],
+                                              "rejectedIds": [3]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Informe a lista de 'ids' ou um 'filter', mas não ambos."),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<TaskBulkDeleteResponseDTO> deleteInBulk(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Tarefas a excluir",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBulkDeleteRequestDTO.class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Por ids",
+                                            value = """
+                                                    {
+                                                      "ids": [1, 2, 3]
+                                                    }
+                                                    """
+                                    ),
+                                    @ExampleObject(
+                                            name = "Por filtro",
+                                            value = """
+                                                    {
+                                                      "filter": { "status": "DONE" }
+                                                    }
+                                                    """
+                                    )
+                            }
+                    )
+            )
+            @RequestBody TaskBulkDeleteRequestDTO request,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        TaskBulkDeleteResponseDTO response = batchService.delete(request, authenticatedUser.id());
+
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Excluir tarefa",
@@ -368,16 +929,17 @@ public class TaskController {
             @ApiResponse(responseCode = "204", description = "Tarefa excluída com sucesso"),
             @ApiResponse(responseCode = "403", description = "A tarefa não pertence ao usuário autenticado."),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada com o id: x"),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi modificada por outra requisição. Obtenha a versão atual e tente novamente."),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<Void> delete(
             @Parameter(description = "ID da tarefa a ser excluída", required = true, example = "1")
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        User user = userService.findUserByUsernameOrThrowNotFound(userDetails.getUsername());
+            @Parameter(description = "ETag obtido na consulta da tarefa; se não corresponder à versão atual, retorna 412")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
 
-        service.delete(id, user.getId());
+        service.delete(id, authenticatedUser.id(), ifMatch);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
@@ -0,0 +1,14 @@
+package dev.guilhermeluan.todo_list.dto;
+
+public record SubtaskCountersDTO(
+        Long taskId,
+        Integer storedTotal,
+        Integer storedDone,
+        Long actualTotal,
+        Long actualDone
+) {
+
+    public boolean hasDrift() {
+        return storedTotal != actualTotal.intValue() || storedDone != actualDone.intValue();
+    }
+}
@@ -0,0 +1,21 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record TaskBatchResponseDTO(
+        int created,
+        int failed,
+        List<ItemResult> results
+) {
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record ItemResult(
+            int index,
+            Long id,
+            List<Long> subtaskIds,
+            List<String> errors
+    ) {
+    }
+}
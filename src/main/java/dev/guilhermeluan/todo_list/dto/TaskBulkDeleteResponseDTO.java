@@ -0,0 +1,10 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import java.util.List;
+
+public record TaskBulkDeleteResponseDTO(
+        int deleted,
+        List<Long> deletedIds,
+        List<Long> rejectedIds
+) {
+}
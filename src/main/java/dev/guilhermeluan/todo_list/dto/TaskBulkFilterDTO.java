@@ -0,0 +1,13 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+
+import java.time.LocalDate;
+
+public record TaskBulkFilterDTO(
+        TaskStatus status,
+        Priority priority,
+        LocalDate dueDate
+) {
+}
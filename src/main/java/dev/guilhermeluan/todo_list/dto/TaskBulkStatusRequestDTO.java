@@ -0,0 +1,16 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record TaskBulkStatusRequestDTO(
+        List<Long> ids,
+
+        TaskBulkFilterDTO filter,
+
+        @NotNull(message = "O campo 'status' é obrigatório.")
+        TaskStatus status
+) {
+}
@@ -0,0 +1,10 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import java.util.List;
+
+public record TaskBulkStatusResponseDTO(
+        int affected,
+        List<Long> affectedIds,
+        List<Long> rejectedIds
+) {
+}
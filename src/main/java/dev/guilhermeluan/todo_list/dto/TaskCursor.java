@@ -0,0 +1,74 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+public record TaskCursor(
+        String sort,
+        Sort.Direction direction,
+        String value,
+        Long id
+) {
+    public static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "dueDate", "status", "priority");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static TaskCursor after(String sort, Sort.Direction direction, TaskGetResponseDTO last) {
+        Object value = switch (sort) {
+            case "id" -> last.id();
+            case "title" -> last.title();
+            case "dueDate" -> last.dueDate();
+            case "status" -> last.status();
+            case "priority" -> last.priority();
+            default -> throw new BadRequestException("Ordenação não suportada na paginação por cursor: " + sort);
+        };
+        return new TaskCursor(sort, direction, value == null ? null : value.toString(), last.id());
+    }
+
+    public static TaskCursor decode(String encoded) {
+        try {
+            TaskCursor cursor = MAPPER.readValue(Base64.getUrlDecoder().decode(encoded), TaskCursor.class);
+            if (cursor.sort() == null || cursor.direction() == null || cursor.id() == null) {
+                throw new BadRequestException("Cursor inválido.");
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    public Comparable<?> typedValue() {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return switch (sort) {
+                case "id" -> Long.valueOf(value);
+                case "title" -> value;
+                case "dueDate" -> ZonedDateTime.parse(value);
+                case "status" -> TaskStatus.valueOf(value);
+                case "priority" -> Priority.valueOf(value);
+                default -> throw new BadRequestException("Cursor inválido.");
+            };
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import java.util.List;
+
+public record TaskCursorPageResponseDTO(
+        List<TaskGetResponseDTO> content,
+        int size,
+        int numberOfElements,
+        boolean hasNext,
+        String nextCursor
+) {
+}
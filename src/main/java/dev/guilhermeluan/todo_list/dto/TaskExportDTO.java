@@ -0,0 +1,19 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+
+import java.time.ZonedDateTime;
+
+@JsonPropertyOrder({"id", "parentTaskId", "title", "description", "dueDate", "status", "priority"})
+public record TaskExportDTO(
+        Long id,
+        Long parentTaskId,
+        String title,
+        String description,
+        ZonedDateTime dueDate,
+        TaskStatus status,
+        Priority priority
+) {
+}
@@ -0,0 +1,40 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+// Filtros opcionais das listagens; dueFrom (inclusivo) e dueTo (exclusivo) formam um intervalo
+// semiaberto normalizado para UTC, e dueDate é o dia inteiro em UTC
+public record TaskFilter(
+        TaskStatus status,
+        Priority priority,
+        LocalDate dueDate,
+        ZonedDateTime dueFrom,
+        ZonedDateTime dueTo,
+        Boolean overdue,
+        String q
+) {
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, null, null, null);
+
+    public TaskFilter {
+        dueFrom = dueFrom == null ? null : dueFrom.withZoneSameInstant(ZoneOffset.UTC);
+        dueTo = dueTo == null ? null : dueTo.withZoneSameInstant(ZoneOffset.UTC);
+        if (dueFrom != null && dueTo != null && !dueFrom.isBefore(dueTo)) {
+            throw new BadRequestException("O intervalo de vencimento é inválido: 'dueFrom' deve ser anterior a 'dueTo'.");
+        }
+        q = q == null || q.isBlank() ? null : q.strip();
+    }
+
+    public static TaskFilter of(TaskStatus status, Priority priority, LocalDate dueDate) {
+        return new TaskFilter(status, priority, dueDate, null, null, null, null);
+    }
+
+    public static TaskFilter of(TaskBulkFilterDTO filter) {
+        return of(filter.status(), filter.priority(), filter.dueDate());
+    }
+}
@@ -1,5 +1,6 @@
 package dev.guilhermeluan.todo_list.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import dev.guilhermeluan.todo_list.model.Priority;
 import dev.guilhermeluan.todo_list.model.TaskStatus;
@@ -16,7 +17,12 @@ public record TaskGetResponseDTO(
         TaskStatus status,
         Priority priority,
         Long parentTaskId,
-        List<SubtaskInfo> subtasks
+        List<SubtaskInfo> subtasks,
+        int subtaskTotal,
+        int subtaskDone,
+        // Exposta apenas via ETag
+        @JsonIgnore
+        Long version
 ) {
 
     public record SubtaskInfo(
@@ -25,7 +31,9 @@ public record TaskGetResponseDTO(
             String description,
             ZonedDateTime dueDate,
             TaskStatus status,
-            Priority priority
+            Priority priority,
+            @JsonIgnore
+            Long version
     ) {
     }
 }
\ No newline at end of file
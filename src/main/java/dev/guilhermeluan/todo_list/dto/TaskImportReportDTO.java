@@ -0,0 +1,27 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record TaskImportReportDTO(
+        UUID id,
+        Status status,
+        String format,
+        long processed,
+        long imported,
+        long failed,
+        List<RowError> errors,
+        boolean errorsTruncated,
+        String failureReason,
+        Instant startedAt,
+        Instant finishedAt
+) {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public record RowError(long line, Long id, String message) {
+    }
+}
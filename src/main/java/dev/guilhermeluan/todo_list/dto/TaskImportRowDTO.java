@@ -0,0 +1,24 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+
+import java.time.ZonedDateTime;
+
+// Mesmo formato de TaskExportDTO; 'id' e 'parentTaskId' são os ids do arquivo, usados apenas para ligar as subtarefas
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TaskImportRowDTO(
+        Long id,
+        Long parentTaskId,
+        String title,
+        String description,
+        ZonedDateTime dueDate,
+        TaskStatus status,
+        Priority priority
+) {
+
+    public TaskPostRequestDTO toPostRequest() {
+        return new TaskPostRequestDTO(title, description, dueDate, status, priority, null);
+    }
+}
@@ -0,0 +1,8 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import java.util.List;
+
+public record TaskLookupRequestDTO(
+        List<Long> ids
+) {
+}
@@ -0,0 +1,10 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import java.util.List;
+
+public record TaskLookupResponseDTO(
+        List<TaskGetResponseDTO> tasks,
+        List<Long> missingIds,
+        List<Long> forbiddenIds
+) {
+}
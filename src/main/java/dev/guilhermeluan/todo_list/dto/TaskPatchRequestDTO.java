@@ -0,0 +1,65 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+// JSON Merge Patch: campo ausente = null (não altera), campo com null = Optional.empty() (limpa o valor).
+// É uma classe com setters e não um record porque o Jackson só chama o setter dos campos presentes no JSON
+public class TaskPatchRequestDTO {
+    private Optional<@NotBlank(message = "O campo 'title' é obrigatório.")
+    @Size(min = 3, max = 255, message = "O título deve ter entre 3 e 255 caracteres.") String> title;
+
+    private Optional<@Size(max = 2000, message = "A descrição não pode exceder 2000 caracteres.") String> description;
+
+    private Optional<@Future(message = "A data de vencimento 'dueDate' deve ser uma data futura.") ZonedDateTime> dueDate;
+
+    private Optional<TaskStatus> status;
+
+    private Optional<Priority> priority;
+
+    public Optional<String> getTitle() {
+        return title;
+    }
+
+    public void setTitle(Optional<String> title) {
+        this.title = title;
+    }
+
+    public Optional<String> getDescription() {
+        return description;
+    }
+
+    public void setDescription(Optional<String> description) {
+        this.description = description;
+    }
+
+    public Optional<ZonedDateTime> getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(Optional<ZonedDateTime> dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Optional<TaskStatus> getStatus() {
+        return status;
+    }
+
+    public void setStatus(Optional<TaskStatus> status) {
+        this.status = status;
+    }
+
+    public Optional<Priority> getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Optional<Priority> priority) {
+        this.priority = priority;
+    }
+}
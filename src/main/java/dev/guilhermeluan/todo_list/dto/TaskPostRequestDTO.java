@@ -2,11 +2,13 @@ package dev.guilhermeluan.todo_list.dto;
 
 import dev.guilhermeluan.todo_list.model.Priority;
 import dev.guilhermeluan.todo_list.model.TaskStatus;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 public record TaskPostRequestDTO(
         @NotBlank(message = "O campo 'title' é obrigatório.")
@@ -21,6 +23,8 @@ public record TaskPostRequestDTO(
 
         TaskStatus status,
 
-        Priority priority
+        Priority priority,
+
+        List<@Valid TaskPostRequestDTO> subtasks
 ) {
 }
\ No newline at end of file
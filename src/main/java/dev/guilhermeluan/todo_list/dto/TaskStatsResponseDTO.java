@@ -0,0 +1,18 @@
+package dev.guilhermeluan.todo_list.dto;
+
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+
+import java.util.Map;
+
+public record TaskStatsResponseDTO(
+        long total,
+        Map<TaskStatus, Long> byStatus,
+        Map<Priority, Long> byPriority,
+        long overdue,
+        long dueToday
+) {
+
+    public record DueCounts(Long overdue, Long dueToday) {
+    }
+}
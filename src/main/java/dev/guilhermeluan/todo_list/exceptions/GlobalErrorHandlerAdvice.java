@@ -1,16 +1,25 @@
 package dev.guilhermeluan.todo_list.exceptions;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.Arrays;
 
 @RestControllerAdvice
 public class GlobalErrorHandlerAdvice {
+    private static final Logger log = LoggerFactory.getLogger(GlobalErrorHandlerAdvice.class);
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<DefaultErrorMessage> handleNotFoundException(NotFoundException e) {
         var error = new DefaultErrorMessage(
@@ -47,4 +56,68 @@ public class GlobalErrorHandlerAdvice {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
-}
\ No newline at end of file
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<DefaultErrorMessage> handlePreconditionFailedException(PreconditionFailedException e) {
+        var error = new DefaultErrorMessage(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                e.getReason()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<DefaultErrorMessage> handlePayloadTooLargeException(PayloadTooLargeException e) {
+        var error = new DefaultErrorMessage(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                e.getReason()
+        );
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<DefaultErrorMessage> handleTooManyRequestsException(TooManyRequestsException e) {
+        var error = new DefaultErrorMessage(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                e.getReason()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    // Escrita concorrente detectada pelo @Version entre a leitura e o flush
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<DefaultErrorMessage> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        var error = new DefaultErrorMessage(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "A tarefa foi modificada por outra requisição. Obtenha a versão atual e tente novamente."
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    // Sem conexão dentro do tempo limite (portão de concorrência ou pool do Hikari): o banco está saturado e
+    // o cliente pode tentar de novo; as demais falhas ao obter conexão continuam sendo erro interno
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<DefaultErrorMessage> handleDatabaseAccessFailure(RuntimeException e) {
+        if (!isConnectionTimeout(e)) {
+            log.error("Falha ao acessar o banco de dados", e);
+            var error = new DefaultErrorMessage(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro interno do servidor");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(error);
+        }
+        var error = new DefaultErrorMessage(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "O servidor está sobrecarregado. Tente novamente em instantes."
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(error);
+    }
+
+    private static boolean isConnectionTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
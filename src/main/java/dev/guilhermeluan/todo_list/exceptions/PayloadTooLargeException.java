@@ -0,0 +1,11 @@
+package dev.guilhermeluan.todo_list.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class PayloadTooLargeException extends ResponseStatusException {
+
+    public PayloadTooLargeException(String message) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE, message);
+    }
+}
@@ -0,0 +1,44 @@
+package dev.guilhermeluan.todo_list.infra.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Carrega o valor na thread que chamou, fora do lock do mapa: um get() síncrono do Caffeine executa o loader
+// dentro de um bloco synchronized, que prende a thread de plataforma de uma virtual thread durante o acesso ao banco.
+// Chamadas concorrentes da mesma chave esperam o mesmo future; falhas e valores nulos não ficam no cache
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (ignored, executor) -> loading);
+        if (future == loading) {
+            // Qualquer falha (inclusive Error) conclui o future: um future pendente travaria a chave para sempre
+            try {
+                V value = loader.get();
+                loading.complete(value);
+                return value;
+            } catch (Throwable e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dev.guilhermeluan.todo_list.infra.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Component
+public class TaskCache implements MeterBinder {
+    private static final String CACHE_NAME = "tasks";
+
+    private final AsyncCache<Key, TaskGetResponseDTO> cache;
+
+    public TaskCache(
+            @Value("${cache.tasks.maximum-size:10000}") long maximumSize,
+            @Value("${cache.tasks.expire-after-write:10m}") Duration expireAfterWrite
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Exceções do loader (404/403) não são guardadas. Dentro de uma transação que alterou a tarefa a leitura
+    // vai direto ao banco, para ver as próprias escritas sem publicar no cache um estado ainda não confirmado
+    public TaskGetResponseDTO get(Long userId, Long taskId, Supplier<TaskGetResponseDTO> loader) {
+        Key key = new Key(userId, taskId);
+        PendingInvalidation pending = currentPendingInvalidation();
+        if (pending != null && pending.covers(key)) {
+            return loader.get();
+        }
+        return CacheLoads.get(cache, key, loader);
+    }
+
+    // A remoção acontece depois do commit: antes dele uma leitura concorrente ainda carregaria o estado antigo.
+    // Um carregamento em andamento também é removido, e o valor que ele trouxer não volta para o cache
+    public void invalidateAfterCompletion(Long userId, Collection<Long> taskIds) {
+        List<Key> keys = taskIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(taskId -> new Key(userId, taskId))
+                .toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        PendingInvalidation pending = registerPendingInvalidation();
+        if (pending == null) {
+            cache.synchronous().invalidateAll(keys);
+            return;
+        }
+        pending.keys.addAll(keys);
+    }
+
+    public void invalidateAllAfterCompletion() {
+        PendingInvalidation pending = registerPendingInvalidation();
+        if (pending == null) {
+            cache.synchronous().invalidateAll();
+            return;
+        }
+        pending.all = true;
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private PendingInvalidation currentPendingInvalidation() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+    }
+
+    // Uma única sincronização por transação acumula as chaves alteradas; sem transação ativa retorna null
+    private PendingInvalidation registerPendingInvalidation() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingInvalidation pending = currentPendingInvalidation();
+        if (pending == null) {
+            pending = new PendingInvalidation();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private final class PendingInvalidation implements TransactionSynchronization {
+        private final Set<Key> keys = new HashSet<>();
+        private boolean all;
+
+        private boolean covers(Key key) {
+            return all || keys.contains(key);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskCache.this);
+            if (all) {
+                cache.synchronous().invalidateAll();
+            } else {
+                cache.synchronous().invalidateAll(keys);
+            }
+        }
+    }
+
+    private record Key(Long userId, Long taskId) {
+    }
+}
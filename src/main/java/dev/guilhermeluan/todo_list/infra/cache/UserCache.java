@@ -0,0 +1,53 @@
+package dev.guilhermeluan.todo_list.infra.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.guilhermeluan.todo_list.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class UserCache implements MeterBinder {
+    private static final String CACHE_NAME = "users";
+
+    private final AsyncCache<String, User> cache;
+
+    public UserCache(
+            @Value("${cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${cache.users.expire-after-write:5m}") Duration expireAfterWrite
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public User get(String login, Function<String, User> loader) {
+        return CacheLoads.get(cache, login, () -> loader.apply(login));
+    }
+
+    public void invalidate(String login) {
+        cache.synchronous().invalidate(login);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
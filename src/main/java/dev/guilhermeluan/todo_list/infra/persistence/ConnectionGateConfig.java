@@ -0,0 +1,34 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "database.gate", name = "enabled", matchIfMissing = true)
+public class ConnectionGateConfig {
+
+    // O post processor é criado antes dos placeholders (@Value) estarem disponíveis, por isso lê o Environment.
+    // Sem configuração o limite é o tamanho do pool do Hikari
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionGateDataSource)) {
+                    int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                    int maxConcurrent = environment.getProperty("database.gate.max-concurrent", Integer.class, poolSize);
+                    Duration acquireTimeout = environment.getProperty(
+                            "database.gate.acquire-timeout", Duration.class, Duration.ofSeconds(2));
+                    return new ConnectionGateDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
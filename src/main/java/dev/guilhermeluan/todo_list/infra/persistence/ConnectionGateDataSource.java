@@ -0,0 +1,118 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Limita quantas threads usam conexões ao mesmo tempo. Com virtual threads o número de requisições simultâneas
+// deixa de ser limitado pelo pool do Tomcat; o semáforo justo atende as threads por ordem de chegada e, passado
+// o tempo limite (zero recusa na hora), falha com SQLTransientConnectionException, a mesma exceção do Hikari.
+// Uma thread que já passou pelo portão não espera de novo: o gerador de ids (@TableGenerator) abre uma segunda
+// conexão no meio da transação, e esperar por ela com todas as permissões ocupadas travaria as threads entre si
+public class ConnectionGateDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ThreadLocal<AtomicInteger> openConnections = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public ConnectionGateDataSource(DataSource targetDataSource, int maxConcurrent, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getGatedConnection(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getGatedConnection(() -> super.getConnection(username, password));
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private Connection getGatedConnection(ConnectionSupplier supplier) throws SQLException {
+        AtomicInteger opened = openConnections.get();
+        boolean nested = opened.get() > 0;
+        if (!nested) {
+            acquire();
+        }
+        try {
+            Connection connection = supplier.get();
+            opened.incrementAndGet();
+            return gated(connection, opened, !nested);
+        } catch (SQLException | RuntimeException e) {
+            if (!nested) {
+                permits.release();
+            }
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Limite de acessos simultâneos ao banco atingido após " + acquireTimeout.toMillis() + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido enquanto aguardava acesso ao banco.", e);
+        }
+    }
+
+    // A permissão volta ao semáforo no primeiro close() da conexão
+    private Connection gated(Connection connection, AtomicInteger opened, boolean holdsPermit) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                opened.decrementAndGet();
+                                if (holdsPermit) {
+                                    permits.release();
+                                }
+                            }
+                        }
+                        yield null;
+                    }
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> invoke(connection, method, args);
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+// Registra match_against(title, description, termo) para as consultas JPQL/Criteria. No MySQL usa o
+// índice FULLTEXT e devolve a relevância; nos demais bancos (H2 nos testes) cai numa busca por substring
+// em que o título pesa mais que a descrição
+public class FullTextFunctionContributor implements FunctionContributor {
+    public static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+
+        String pattern = functionContributions.getDialect() instanceof MySQLDialect
+                ? "match(?1, ?2) against (?3 in natural language mode)"
+                : "(case when locate(lower(?3), lower(?1)) > 0 then 2.0"
+                + " when locate(lower(?3), lower(coalesce(?2, ''))) > 0 then 1.0 else 0.0 end)";
+
+        functionContributions.getFunctionRegistry()
+                .registerPattern(MATCH_AGAINST, pattern, doubleType);
+    }
+}
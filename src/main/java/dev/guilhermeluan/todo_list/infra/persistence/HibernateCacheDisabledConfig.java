@@ -0,0 +1,25 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.persistence.SharedCacheMode;
+
+// Com cache.hibernate.enabled=false o cache de segundo nível é desligado de fato: sem isso o Hibernate
+// detecta o hibernate-jcache no classpath e cria as regiões das entidades @Cacheable sem limite de tamanho
+@Configuration
+@ConditionalOnProperty(prefix = "cache.hibernate", name = "enabled", havingValue = "false")
+public class HibernateCacheDisabledConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheDisabledCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            hibernateProperties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.NONE);
+        };
+    }
+}
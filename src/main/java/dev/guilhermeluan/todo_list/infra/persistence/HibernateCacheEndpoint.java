@@ -0,0 +1,55 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// GET /actuator/hibernatecache: acertos, falhas e inserções por região do cache de segundo nível
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+    private final Statistics statistics;
+
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public CacheReport report() {
+        Map<String, RegionReport> regions = new TreeMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .forEach(region -> regions.put(region.getRegionName(), RegionReport.of(region)));
+
+        return new CacheReport(statistics.isStatisticsEnabled(), regions,
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), statistics.getPrepareStatementCount());
+    }
+
+    public record CacheReport(
+            boolean statisticsEnabled,
+            Map<String, RegionReport> regions,
+            long queryCacheHits,
+            long queryCacheMisses,
+            long preparedStatements
+    ) {
+    }
+
+    public record RegionReport(long hits, long misses, long puts, double hitRatio) {
+
+        static RegionReport of(CacheRegionStatistics region) {
+            long requests = region.getHitCount() + region.getMissCount();
+            double hitRatio = requests == 0 ? 0.0 : (double) region.getHitCount() / requests;
+            return new RegionReport(region.getHitCount(), region.getMissCount(), region.getPutCount(), hitRatio);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cache.hibernate")
+public record HibernateCacheProperties(
+        @DefaultValue Region users,
+        @DefaultValue Region tasks,
+        @DefaultValue Region subTasks,
+        @DefaultValue Region queries
+) {
+
+    public record Region(
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("10m") Duration expireAfterWrite
+    ) {
+    }
+}
@@ -0,0 +1,73 @@
+package dev.guilhermeluan.todo_list.infra.scheduling;
+
+import dev.guilhermeluan.todo_list.dto.SubtaskCountersDTO;
+import dev.guilhermeluan.todo_list.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Confere periodicamente os contadores de subtarefas com a contagem real e registra as divergências.
+// A tabela é percorrida em blocos, cada um na sua transação, para não manter locks nem uma transação longa
+// durante a varredura inteira
+@Component
+public class SubtaskCounterReconciliationJob {
+    private static final Logger log = LoggerFactory.getLogger(SubtaskCounterReconciliationJob.class);
+
+    private final TaskService taskService;
+    private final int chunkSize;
+    private final boolean fixDrift;
+    // Impede duas varreduras simultâneas nesta instância, por exemplo o cron disparando durante uma execução manual
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SubtaskCounterReconciliationJob(
+            TaskService taskService,
+            @Value("${tasks.counters.reconcile-chunk-size:500}") int chunkSize,
+            @Value("${tasks.counters.fix-drift:true}") boolean fixDrift
+    ) {
+        this.taskService = taskService;
+        this.chunkSize = chunkSize;
+        this.fixDrift = fixDrift;
+    }
+
+    @Scheduled(cron = "${tasks.counters.reconcile-cron:-}")
+    public List<SubtaskCountersDTO> reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Reconciliação dos contadores de subtarefas já em andamento; execução ignorada");
+            return List.of();
+        }
+        try {
+            List<SubtaskCountersDTO> drifts = reconcileAllChunks();
+            log.info("Reconciliação dos contadores de subtarefas concluída: {} divergência(s)", drifts.size());
+            return drifts;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<SubtaskCountersDTO> reconcileAllChunks() {
+        List<SubtaskCountersDTO> drifts = new ArrayList<>();
+        Long afterId = 0L;
+        List<SubtaskCountersDTO> chunk;
+        do {
+            chunk = taskService.reconcileSubtaskCountersChunk(afterId, chunkSize, fixDrift);
+            for (SubtaskCountersDTO counters : chunk) {
+                if (counters.hasDrift()) {
+                    log.warn("Contadores de subtarefas divergentes na tarefa {}: armazenado {}/{}, real {}/{}{}",
+                            counters.taskId(), counters.storedDone(), counters.storedTotal(), counters.actualDone(),
+                            counters.actualTotal(), fixDrift ? " (corrigido)" : "");
+                    drifts.add(counters);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.getLast().taskId();
+            }
+        } while (chunk.size() == chunkSize);
+        return drifts;
+    }
+}
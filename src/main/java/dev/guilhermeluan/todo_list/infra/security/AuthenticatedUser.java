@@ -0,0 +1,27 @@
+package dev.guilhermeluan.todo_list.infra.security;
+
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+public record AuthenticatedUser(
+        Long id,
+        String login,
+        UserRole role
+) {
+
+    public static AuthenticatedUser from(User user) {
+        UserRole role = user.getRole() == UserRole.ADMIN ? UserRole.ADMIN : UserRole.USER;
+        return new AuthenticatedUser(user.getId(), user.getUsername(), role);
+    }
+
+    public boolean hasIdentityClaims() {
+        return id != null && role != null;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.getAuthorities();
+    }
+}
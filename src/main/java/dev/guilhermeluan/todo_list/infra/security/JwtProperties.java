@@ -0,0 +1,15 @@
+package dev.guilhermeluan.todo_list.infra.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "security.jwt")
+public record JwtProperties(
+        @DefaultValue("auth0") String issuer,
+        String activeKeyId,
+        Map<String, String> keys,
+        @DefaultValue("10000") long verifiedTokenCacheSize
+) {
+}
@@ -1,13 +1,15 @@
 package dev.guilhermeluan.todo_list.infra.security;
 
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
+import dev.guilhermeluan.todo_list.model.User;
 import dev.guilhermeluan.todo_list.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -18,10 +20,19 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final boolean statelessPrincipal;
 
-    public SecurityFilter(TokenService tokenService, UserRepository userRepository) {
+    public SecurityFilter(
+            TokenService tokenService,
+            UserRepository userRepository,
+            UserCache userCache,
+            @Value("${security.jwt.stateless-principal:true}") boolean statelessPrincipal
+    ) {
         this.tokenService = tokenService;
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -29,24 +40,32 @@ public class SecurityFilter extends OncePerRequestFilter {
         var token = this.recoverToken(request);
 
         if (token != null) {
-            var login = tokenService.validateToken(token);
+            var principal = resolvePrincipal(tokenService.validateToken(token));
 
-            if (login != null && !login.isEmpty()) {
-                UserDetails user = userRepository.findByLogin(login);
-
-                if (user != null) {
-                    var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            if (principal != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedUser resolvePrincipal(AuthenticatedUser tokenPrincipal) {
+        if (tokenPrincipal == null) {
+            return null;
+        }
+        if (statelessPrincipal && tokenPrincipal.hasIdentityClaims()) {
+            return tokenPrincipal;
+        }
+
+        User user = userCache.get(tokenPrincipal.login(), userRepository::findByLogin);
+        return user != null ? AuthenticatedUser.from(user) : null;
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null) return null;
         return authHeader.replace("Bearer ", "");
     }
-}
\ No newline at end of file
+}
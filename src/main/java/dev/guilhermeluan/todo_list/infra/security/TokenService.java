@@ -1,48 +1,149 @@
 package dev.guilhermeluan.todo_list.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
-public class TokenService {
+public class TokenService implements MeterBinder {
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
 
-    private final String secret = "default";
+    private final String activeKeyId;
+    private final Algorithm signingAlgorithm;
+    private final Map<String, JWTVerifier> verifiers;
+    private final String issuer;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenService(JwtProperties properties) {
+        if (properties.keys() == null || !properties.keys().containsKey(properties.activeKeyId())) {
+            throw new IllegalStateException("A chave JWT ativa '" + properties.activeKeyId() + "' não está configurada em security.jwt.keys");
+        }
+
+        this.issuer = properties.issuer();
+        this.activeKeyId = properties.activeKeyId();
+        this.verifiers = new HashMap<>();
+
+        Algorithm activeAlgorithm = null;
+        for (Map.Entry<String, String> key : properties.keys().entrySet()) {
+            Algorithm algorithm = Algorithm.HMAC256(key.getValue());
+            verifiers.put(key.getKey(), JWT.require(algorithm).withIssuer(issuer).build());
+            if (key.getKey().equals(activeKeyId)) {
+                activeAlgorithm = algorithm;
+            }
+        }
+        this.signingAlgorithm = activeAlgorithm;
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.verifiedTokenCacheSize())
+                .expireAfter(new VerifiedTokenExpiry())
+                .recordStats()
+                .build();
+    }
 
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+            AuthenticatedUser principal = AuthenticatedUser.from(user);
 
             return JWT.create()
-                    .withIssuer("auth0")
-                    .withSubject(user.getUsername())
+                    .withKeyId(activeKeyId)
+                    .withIssuer(issuer)
+                    .withSubject(principal.login())
+                    .withClaim(USER_ID_CLAIM, principal.id())
+                    .withClaim(ROLE_CLAIM, principal.role().name())
                     .withExpiresAt(getExpirationTime())
-                    .sign(algorithm);
+                    .sign(signingAlgorithm);
         } catch (JWTCreationException exception) {
             return "";
         }
     }
 
-    public String validateToken(String token) {
+    public AuthenticatedUser validateToken(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.principal();
+        }
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth0")
-                    .build()
-                    .verify(token)
-                    .getSubject();
-        } catch (Exception exception) {
-            return exception.getMessage();
+            DecodedJWT jwt = JWT.decode(token);
+            JWTVerifier verifier = verifiers.get(jwt.getKeyId() != null ? jwt.getKeyId() : activeKeyId);
+            if (verifier == null) {
+                return null;
+            }
+
+            verifier.verify(jwt);
+            AuthenticatedUser principal = toPrincipal(jwt);
+
+            if (principal != null && jwt.getExpiresAtAsInstant() != null) {
+                verifiedTokens.put(token, new VerifiedToken(principal, jwt.getExpiresAtAsInstant()));
+            }
+            return principal;
+        } catch (JWTVerificationException exception) {
+            return null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verified-tokens");
+    }
+
+    private AuthenticatedUser toPrincipal(DecodedJWT jwt) {
+        String login = jwt.getSubject();
+        if (login == null || login.isEmpty()) {
+            return null;
+        }
+
+        Long userId = jwt.getClaim(USER_ID_CLAIM).asLong();
+        String role = jwt.getClaim(ROLE_CLAIM).asString();
+
+        try {
+            return new AuthenticatedUser(userId, login, role == null ? null : UserRole.valueOf(role));
+        } catch (IllegalArgumentException exception) {
+            return null;
         }
     }
 
     private Instant getExpirationTime() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
-}
\ No newline at end of file
+
+    private record VerifiedToken(AuthenticatedUser principal, Instant expiresAt) {
+    }
+
+    private static class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
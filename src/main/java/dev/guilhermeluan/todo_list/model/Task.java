@@ -1,6 +1,9 @@
 package dev.guilhermeluan.todo_list.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -8,12 +11,26 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_task_user_top_level", columnList = "user_id, is_sub_task, id"),
+        @Index(name = "idx_task_user_status", columnList = "user_id, is_sub_task, status, id"),
+        @Index(name = "idx_task_user_priority", columnList = "user_id, is_sub_task, priority, id"),
+        @Index(name = "idx_task_user_due_date", columnList = "user_id, is_sub_task, due_date, id")
+})
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(name = "task_id", table = "id_sequence", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "task", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(unique = false, nullable = false)
     private String title;
 
@@ -46,10 +63,18 @@ public class Task {
             mappedBy = "parentTask",
             cascade = CascadeType.ALL,
             orphanRemoval = true,
-            fetch = FetchType.EAGER
+            fetch = FetchType.LAZY
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Task> subTasks = new ArrayList<>();
 
+    // Alterados apenas por UPDATEs atômicos (incremento/decremento); nunca sobrescritos pelo flush da entidade
+    @Column(nullable = false, updatable = false)
+    private int subtaskTotal;
+
+    @Column(nullable = false, updatable = false)
+    private int subtaskDone;
+
     public Task(Long id, String title, String description, ZonedDateTime dueDate, TaskStatus status, Priority priority, Task parentTask, boolean isParent, List<Task> subTasks) {
         this.id = id;
         this.title = title;
@@ -73,6 +98,30 @@ public class Task {
         this.id = id;
     }
 
+    public int getSubtaskTotal() {
+        return subtaskTotal;
+    }
+
+    public void setSubtaskTotal(int subtaskTotal) {
+        this.subtaskTotal = subtaskTotal;
+    }
+
+    public int getSubtaskDone() {
+        return subtaskDone;
+    }
+
+    public void setSubtaskDone(int subtaskDone) {
+        this.subtaskDone = subtaskDone;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -7,12 +7,14 @@ import org.mapstruct.MappingConstants;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface TaskMapper {
+    @Mapping(target = "subTasks", source = "subtasks", defaultExpression = "java(new java.util.ArrayList<>())")
     Task toTask(TaskPostRequestDTO request);
 
     Task toTask(UpdateTaskStatusRequestDTO request);
 
     Task toTask(TaskPutRequestDTO request);
 
+    @Mapping(target = "subtasks", source = "subTasks")
     TaskPostResponseDTO toTaskPostResponse(Task taskSaved);
 
     @Mapping(target = "parentTaskId", source = "parentTask.id")
@@ -0,0 +1,60 @@
+package dev.guilhermeluan.todo_list.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+// Somente leitura pela aplicação: as linhas são criadas e alteradas por TaskSummaryRepository.increment
+@Entity
+public class TaskSummary {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private long total;
+    private long toDoCount;
+    private long inProgressCount;
+    private long doneCount;
+    private long lowCount;
+    private long mediumCount;
+    private long highCount;
+
+    public TaskSummary() {
+    }
+
+    public TaskSummary(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getToDoCount() {
+        return toDoCount;
+    }
+
+    public long getInProgressCount() {
+        return inProgressCount;
+    }
+
+    public long getDoneCount() {
+        return doneCount;
+    }
+
+    public long getLowCount() {
+        return lowCount;
+    }
+
+    public long getMediumCount() {
+        return mediumCount;
+    }
+
+    public long getHighCount() {
+        return highCount;
+    }
+}
@@ -1,5 +1,10 @@
 package dev.guilhermeluan.todo_list.model;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum UserRole {
     ADMIN("admin"),
     USER("user");
@@ -13,4 +18,10 @@ public enum UserRole {
     public String getRole() {
         return role;
     }
+
+    public List<GrantedAuthority> getAuthorities() {
+        if (this == ADMIN)
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+        else return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package dev.guilhermeluan.todo_list.repository;
+
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskProjectionRepository {
+
+    Page<TaskGetResponseDTO> findAllProjected(Specification<Task> spec, Pageable pageable);
+
+    List<TaskGetResponseDTO> findAllProjected(Specification<Task> spec, Sort sort, int limit);
+
+    List<Long> findIds(Specification<Task> spec);
+
+    List<TaskState> findStatesForUpdate(Specification<Task> spec);
+
+    int incrementSubtaskCounters(Collection<Long> ids, int totalDelta, int doneDelta);
+
+    record TaskState(Long id, Long parentTaskId, TaskStatus status, Priority priority) {
+    }
+}
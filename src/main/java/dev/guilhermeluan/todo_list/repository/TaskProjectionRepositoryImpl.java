@@ -0,0 +1,245 @@
+package dev.guilhermeluan.todo_list.repository;
+
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+    private static final String SUBTASK_COUNTERS_SPACE = "task_subtask_counters";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskGetResponseDTO> findAllProjected(Specification<Task> spec, Pageable pageable) {
+        List<TaskRow> rows = pageable.isPaged()
+                ? findRows(spec, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize())
+                : findRows(spec, pageable.getSort(), 0, -1);
+
+        return new PageImpl<>(toResponses(rows), pageable, count(spec, pageable, rows.size()));
+    }
+
+    @Override
+    public List<TaskGetResponseDTO> findAllProjected(Specification<Task> spec, Sort sort, int limit) {
+        return toResponses(findRows(spec, sort, 0, limit));
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(root.get("id")).orderBy(cb.asc(root.get("id")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<TaskState> findStatesForUpdate(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskState> query = cb.createQuery(TaskState.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskState.class, root.get("id"), root.get("parentTask").get("id"),
+                        root.get("status"), root.get("priority")))
+                .orderBy(cb.asc(root.get("id")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+    }
+
+    // UPDATE nativo para que o Hibernate não invalide a região inteira de Task no cache de segundo nível, como
+    // faz em todo UPDATE em JPQL: o espaço de consulta declarado não pertence a nenhuma entidade, e só as tarefas
+    // alteradas são removidas do cache, antes do UPDATE e de novo ao fim da transação, para descartar uma leitura
+    // concorrente que tenha guardado a linha antiga nesse intervalo
+    @Override
+    @Transactional
+    public int incrementSubtaskCounters(Collection<Long> ids, int totalDelta, int doneDelta) {
+        entityManager.flush();
+        evictFromSecondLevelCache(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> evictedIds = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictFromSecondLevelCache(evictedIds);
+                }
+            });
+        }
+        return entityManager.createNativeQuery("update task set subtask_total = subtask_total + :totalDelta, " +
+                        "subtask_done = subtask_done + :doneDelta where id in (:ids)")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, SUBTASK_COUNTERS_SPACE)
+                .setParameter("totalDelta", totalDelta)
+                .setParameter("doneDelta", doneDelta)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    private void evictFromSecondLevelCache(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Task.class, id));
+    }
+
+    private List<TaskGetResponseDTO> toResponses(List<TaskRow> rows) {
+        Map<Long, List<TaskGetResponseDTO.SubtaskInfo>> subtasksByParent = findSubtasks(rows);
+
+        List<TaskGetResponseDTO> content = new ArrayList<>(rows.size());
+        for (TaskRow row : rows) {
+            content.add(row.toResponse(subtasksByParent.getOrDefault(row.id(), List.of())));
+        }
+        return content;
+    }
+
+    private List<TaskRow> findRows(Specification<Task> spec, Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> query = cb.createQuery(TaskRow.class);
+        Root<Task> root = query.from(Task.class);
+
+        query.select(cb.construct(TaskRow.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("dueDate"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("parentTask").get("id"),
+                root.get("subtaskTotal"),
+                root.get("subtaskDone"),
+                root.get("version")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<TaskRow> typedQuery = entityManager.createQuery(query);
+        if (limit >= 0) {
+            typedQuery.setFirstResult(offset);
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private Map<Long, List<TaskGetResponseDTO.SubtaskInfo>> findSubtasks(List<TaskRow> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> parentIds = new ArrayList<>(rows.size());
+        for (TaskRow row : rows) {
+            parentIds.add(row.id());
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SubtaskRow> query = cb.createQuery(SubtaskRow.class);
+        Root<Task> subtask = query.from(Task.class);
+        Path<Long> parentId = subtask.get("parentTask").get("id");
+
+        query.select(cb.construct(SubtaskRow.class,
+                        parentId,
+                        subtask.get("id"),
+                        subtask.get("title"),
+                        subtask.get("description"),
+                        subtask.get("dueDate"),
+                        subtask.get("status"),
+                        subtask.get("priority"),
+                        subtask.get("version")))
+                .where(parentId.in(parentIds))
+                .orderBy(cb.asc(subtask.get("id")));
+
+        List<SubtaskRow> subtasks = entityManager.createQuery(query).getResultList();
+
+        Map<Long, List<TaskGetResponseDTO.SubtaskInfo>> subtasksByParent = new HashMap<>();
+        for (SubtaskRow row : subtasks) {
+            subtasksByParent.computeIfAbsent(row.parentTaskId(), id -> new ArrayList<>()).add(row.toInfo());
+        }
+        return subtasksByParent;
+    }
+
+    private long count(Specification<Task> spec, Pageable pageable, int pageRows) {
+        if (pageable.isUnpaged() || (pageable.getOffset() == 0 && pageRows < pageable.getPageSize())) {
+            return pageRows;
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    record TaskRow(
+            Long id,
+            String title,
+            String description,
+            ZonedDateTime dueDate,
+            TaskStatus status,
+            Priority priority,
+            Long parentTaskId,
+            int subtaskTotal,
+            int subtaskDone,
+            Long version
+    ) {
+        TaskGetResponseDTO toResponse(List<TaskGetResponseDTO.SubtaskInfo> subtasks) {
+            return new TaskGetResponseDTO(id, title, description, dueDate, status, priority, parentTaskId, subtasks,
+                    subtaskTotal, subtaskDone, version);
+        }
+    }
+
+    record SubtaskRow(
+            Long parentTaskId,
+            Long id,
+            String title,
+            String description,
+            ZonedDateTime dueDate,
+            TaskStatus status,
+            Priority priority,
+            Long version
+    ) {
+        TaskGetResponseDTO.SubtaskInfo toInfo() {
+            return new TaskGetResponseDTO.SubtaskInfo(id, title, description, dueDate, status, priority, version);
+        }
+    }
+}
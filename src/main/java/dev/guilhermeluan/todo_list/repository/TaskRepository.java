@@ -1,8 +1,65 @@
 package dev.guilhermeluan.todo_list.repository;
 
+import dev.guilhermeluan.todo_list.dto.SubtaskCountersDTO;
+import dev.guilhermeluan.todo_list.dto.TaskExportDTO;
+import dev.guilhermeluan.todo_list.dto.TaskStatsResponseDTO;
 import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskProjectionRepository {
+
+    Optional<Task> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1 where t.id in :ids and t.user.id = :userId")
+    int updateStatusByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status, @Param("userId") Long userId);
+
+    @Query("select t.id from Task t where t.parentTask.id in :parentIds and t.user.id = :userId")
+    List<Long> findSubTaskIdsByParentIdInAndUserId(@Param("parentIds") Collection<Long> parentIds, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.parentTask.id in :parentIds and t.user.id = :userId")
+    int deleteSubTasksByParentIdInAndUserId(@Param("parentIds") Collection<Long> parentIds, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids and t.user.id = :userId")
+    int deleteByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query("select new dev.guilhermeluan.todo_list.dto.SubtaskCountersDTO(p.id, p.subtaskTotal, p.subtaskDone, " +
+            "(select count(s) from Task s where s.parentTask.id = p.id), " +
+            "(select count(s) from Task s where s.parentTask.id = p.id and s.status = dev.guilhermeluan.todo_list.model.TaskStatus.DONE)) " +
+            "from Task p where p.isSubTask = false and p.id > :afterId order by p.id")
+    List<SubtaskCountersDTO> findSubtaskCountersAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new dev.guilhermeluan.todo_list.dto.TaskStatsResponseDTO$DueCounts(" +
+            "coalesce(sum(case when t.dueDate < :now and (t.status is null or t.status <> dev.guilhermeluan.todo_list.model.TaskStatus.DONE) then 1 else 0 end), 0), " +
+            "coalesce(sum(case when t.dueDate >= :startOfToday then 1 else 0 end), 0)) " +
+            "from Task t where t.user.id = :userId and t.isSubTask = false and t.dueDate < :startOfTomorrow")
+    TaskStatsResponseDTO.DueCounts countDueByUserId(@Param("userId") Long userId, @Param("now") ZonedDateTime now,
+                                                    @Param("startOfToday") ZonedDateTime startOfToday,
+                                                    @Param("startOfTomorrow") ZonedDateTime startOfTomorrow);
+
+    // Cursor somente-leitura com tamanho de busca limitado (no MySQL exige useCursorFetch=true na URL)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new dev.guilhermeluan.todo_list.dto.TaskExportDTO(t.id, t.parentTask.id, t.title, t.description, t.dueDate, t.status, t.priority) " +
+            "from Task t where t.user.id = :userId order by t.id")
+    Stream<TaskExportDTO> streamForExportByUserId(@Param("userId") Long userId);
 }
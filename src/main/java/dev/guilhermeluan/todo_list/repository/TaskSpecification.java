@@ -1,19 +1,45 @@
 package dev.guilhermeluan.todo_list.repository;
 
+import dev.guilhermeluan.todo_list.dto.TaskFilter;
+import dev.guilhermeluan.todo_list.infra.persistence.FullTextFunctionContributor;
 import dev.guilhermeluan.todo_list.model.Priority;
 import dev.guilhermeluan.todo_list.model.Task;
 import dev.guilhermeluan.todo_list.model.TaskStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 
 public class TaskSpecification {
 
     private TaskSpecification() {
     }
 
+    // equal em vez de isFalse: o Hibernate gera "not(is_sub_task)" para isFalse no MySQL, que não usa a
+    // coluna is_sub_task dos índices da listagem; "is_sub_task = 0" usa
     public static Specification<Task> isTopLevelTask() {
-        return (root, query, criteriaBuilder) -> criteriaBuilder.isFalse(root.get("isSubTask"));
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("isSubTask"), false);
+    }
+
+    public static Specification<Task> isSubTask() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.get("isSubTask"));
+    }
+
+    public static Specification<Task> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Task> hasIncompleteSubTasks() {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.lessThan(root.get("subtaskDone"), root.<Integer>get("subtaskTotal"));
     }
 
     public static Specification<Task> hasUserId(Long userId) {
@@ -28,25 +54,120 @@ public class TaskSpecification {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("priority"), priority);
     }
 
+    // Intervalos semiabertos [início, fim) em UTC; comparam a coluna diretamente para usar o índice por due_date
     public static Specification<Task> hasDueDate(LocalDate dueDate) {
+        ZonedDateTime startOfDay = dueDate.atStartOfDay(ZoneOffset.UTC);
+        return isDueBetween(startOfDay, startOfDay.plusDays(1));
+    }
+
+    public static Specification<Task> isDueBetween(ZonedDateTime from, ZonedDateTime to) {
+        return (root, query, criteriaBuilder) -> {
+            Path<ZonedDateTime> dueDate = root.get("dueDate");
+            if (from == null) {
+                return criteriaBuilder.lessThan(dueDate, to);
+            }
+            if (to == null) {
+                return criteriaBuilder.greaterThanOrEqualTo(dueDate, from);
+            }
+            return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(dueDate, from),
+                    criteriaBuilder.lessThan(dueDate, to));
+        };
+    }
+
+    // Vencida: prazo antes de agora e ainda não concluída, como em GET /v1/tasks/stats
+    public static Specification<Task> isOverdue(ZonedDateTime now) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.lessThan(root.get("dueDate"), now),
+                isNotDone(root, criteriaBuilder));
+    }
+
+    public static Specification<Task> isNotOverdue(ZonedDateTime now) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.isNull(root.get("dueDate")),
+                criteriaBuilder.greaterThanOrEqualTo(root.get("dueDate"), now),
+                criteriaBuilder.not(isNotDone(root, criteriaBuilder)));
+    }
+
+    private static Predicate isNotDone(Root<Task> root, CriteriaBuilder criteriaBuilder) {
+        return criteriaBuilder.or(
+                criteriaBuilder.isNull(root.get("status")),
+                criteriaBuilder.notEqual(root.get("status"), TaskStatus.DONE));
+    }
+
+    public static Specification<Task> matchesText(String text) {
         return (root, query, criteriaBuilder) ->
-                criteriaBuilder.between(root.get("dueDate"), dueDate.atStartOfDay(), dueDate.atTime(23, 59, 59));
+                criteriaBuilder.greaterThan(relevance(root, criteriaBuilder, text), 0.0);
+    }
+
+    // Ordena pela relevância e desempata pelo id; a consulta de contagem (resultado Long) fica sem ordenação
+    public static Specification<Task> orderByRelevance(String text) {
+        return (root, query, criteriaBuilder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        criteriaBuilder.desc(relevance(root, criteriaBuilder, text)),
+                        criteriaBuilder.desc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
+    private static Expression<Double> relevance(Root<Task> root, CriteriaBuilder criteriaBuilder, String text) {
+        return criteriaBuilder.function(FullTextFunctionContributor.MATCH_AGAINST, Double.class,
+                root.get("title"), root.get("description"), criteriaBuilder.literal(text));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Task> isAfter(String property, Sort.Direction direction, Comparable value, Long id) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<Long> taskId = root.get("id");
+            Predicate idAfter = direction.isAscending()
+                    ? criteriaBuilder.greaterThan(taskId, id)
+                    : criteriaBuilder.lessThan(taskId, id);
+
+            if ("id".equals(property)) {
+                return idAfter;
+            }
+
+            Expression<Comparable> field = root.get(property);
+            // O MySQL ordena NULL antes de qualquer valor em ASC e depois de todos em DESC
+            if (value == null) {
+                return direction.isAscending()
+                        ? criteriaBuilder.or(criteriaBuilder.and(criteriaBuilder.isNull(field), idAfter), criteriaBuilder.isNotNull(field))
+                        : criteriaBuilder.and(criteriaBuilder.isNull(field), idAfter);
+            }
+
+            Predicate tieBreak = criteriaBuilder.and(criteriaBuilder.equal(field, value), idAfter);
+            return direction.isAscending()
+                    ? criteriaBuilder.or(criteriaBuilder.greaterThan(field, value), tieBreak)
+                    : criteriaBuilder.or(criteriaBuilder.lessThan(field, value), tieBreak, criteriaBuilder.isNull(field));
+        };
     }
 
-    public static Specification<Task> buildFilterSpec(Long userId, TaskStatus status, Priority priority, LocalDate dueDate) {
+    public static Specification<Task> buildFilterSpec(Long userId, TaskFilter filter) {
         Specification<Task> spec = isTopLevelTask();
 
         if (userId != null) {
             spec = spec.and(hasUserId(userId));
         }
-        if (status != null) {
-            spec = spec.and(hasStatus(status));
+        if (filter.status() != null) {
+            spec = spec.and(hasStatus(filter.status()));
+        }
+        if (filter.priority() != null) {
+            spec = spec.and(hasPriority(filter.priority()));
+        }
+        if (filter.dueDate() != null) {
+            spec = spec.and(hasDueDate(filter.dueDate()));
+        }
+        if (filter.dueFrom() != null || filter.dueTo() != null) {
+            spec = spec.and(isDueBetween(filter.dueFrom(), filter.dueTo()));
         }
-        if (priority != null) {
-            spec = spec.and(hasPriority(priority));
+        if (filter.overdue() != null) {
+            ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+            spec = spec.and(filter.overdue() ? isOverdue(now) : isNotOverdue(now));
         }
-        if (dueDate != null) {
-            spec = spec.and(hasDueDate(dueDate));
+        if (filter.q() != null) {
+            spec = spec.and(matchesText(filter.q()));
         }
 
         return spec;
@@ -0,0 +1,27 @@
+package dev.guilhermeluan.todo_list.repository;
+
+import dev.guilhermeluan.todo_list.model.TaskSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskSummaryRepository extends JpaRepository<TaskSummary, Long> {
+
+    // Upsert atômico: a linha do usuário é criada na primeira escrita e depois só recebe incrementos
+    // Sem o espaço de consulta declarado, o Hibernate invalidaria todas as regiões do cache de segundo nível
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_summary"))
+    @Query(nativeQuery = true, value = "insert into task_summary " +
+            "(user_id, total, to_do_count, in_progress_count, done_count, low_count, medium_count, high_count) " +
+            "values (:userId, :total, :toDo, :inProgress, :done, :low, :medium, :high) " +
+            "on duplicate key update total = total + :total, to_do_count = to_do_count + :toDo, " +
+            "in_progress_count = in_progress_count + :inProgress, done_count = done_count + :done, " +
+            "low_count = low_count + :low, medium_count = medium_count + :medium, high_count = high_count + :high")
+    void increment(@Param("userId") Long userId, @Param("total") int total, @Param("toDo") int toDo,
+                   @Param("inProgress") int inProgress, @Param("done") int done,
+                   @Param("low") int low, @Param("medium") int medium, @Param("high") int high);
+}
@@ -1,10 +1,14 @@
 package dev.guilhermeluan.todo_list.repository;
 
 import dev.guilhermeluan.todo_list.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface UserRepository extends JpaRepository<User, String> {
-    User findByLogin(String login);
+public interface UserRepository extends JpaRepository<User, Long> {
 
-    User findById(Long id);
+    // O resultado (apenas o id) vai para o cache de consultas e a entidade vem do cache de segundo nível
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    User findByLogin(String login);
 }
@@ -4,12 +4,13 @@ import dev.guilhermeluan.todo_list.dto.AuthenticationDTO;
 import dev.guilhermeluan.todo_list.dto.LoginResponseDTO;
 import dev.guilhermeluan.todo_list.dto.RegisterDTO;
 import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
 import dev.guilhermeluan.todo_list.infra.security.TokenService;
 import dev.guilhermeluan.todo_list.model.User;
 import dev.guilhermeluan.todo_list.repository.UserRepository;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,17 +18,21 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final TokenService tokenService;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final PasswordEncoder passwordEncoder;
 
     public AuthenticationService(
             AuthenticationManager authenticationManager,
             UserRepository userRepository,
-            TokenService tokenService
+            TokenService tokenService,
+            UserCache userCache,
+            PasswordEncoder passwordEncoder
     ) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.tokenService = tokenService;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.userCache = userCache;
+        this.passwordEncoder = passwordEncoder;
     }
 
     public LoginResponseDTO authenticate(AuthenticationDTO data) {
@@ -46,6 +51,7 @@ public class AuthenticationService {
         User newUser = new User(data.login(), encryptedPassword, data.role());
 
         userRepository.save(newUser);
+        userCache.invalidate(newUser.getUsername());
     }
 
     private void validateUserNotExists(String login) {
@@ -0,0 +1,33 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+
+// Variação dos contadores de subtarefas de uma tarefa principal
+public record SubtaskCounterDelta(int total, int done) {
+
+    public static final SubtaskCounterDelta ZERO = new SubtaskCounterDelta(0, 0);
+
+    public static SubtaskCounterDelta added(TaskStatus status) {
+        return new SubtaskCounterDelta(1, doneCount(status));
+    }
+
+    public static SubtaskCounterDelta removed(TaskStatus status) {
+        return new SubtaskCounterDelta(-1, -doneCount(status));
+    }
+
+    public static SubtaskCounterDelta statusChanged(TaskStatus oldStatus, TaskStatus newStatus) {
+        return new SubtaskCounterDelta(0, doneCount(newStatus) - doneCount(oldStatus));
+    }
+
+    public SubtaskCounterDelta plus(SubtaskCounterDelta other) {
+        return new SubtaskCounterDelta(total + other.total, done + other.done);
+    }
+
+    public boolean isZero() {
+        return total == 0 && done == 0;
+    }
+
+    private static int doneCount(TaskStatus status) {
+        return status == TaskStatus.DONE ? 1 : 0;
+    }
+}
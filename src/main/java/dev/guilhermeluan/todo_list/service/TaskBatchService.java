@@ -0,0 +1,267 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.dto.TaskBatchResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkDeleteRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkDeleteResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkFilterDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkStatusRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkStatusResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskFilter;
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskLookupRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskLookupResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPostRequestDTO;
+import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskMapper;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.TaskProjectionRepository.TaskState;
+import dev.guilhermeluan.todo_list.repository.TaskSpecification;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskBatchService {
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final TaskSummaryService summaryService;
+    private final TaskCache taskCache;
+    private final UserService userService;
+    private final TaskMapper mapper;
+    private final Validator validator;
+    private final int maxBatchSize;
+
+    public TaskBatchService(
+            TaskService taskService,
+            TaskRepository taskRepository,
+            TaskSummaryService summaryService,
+            TaskCache taskCache,
+            UserService userService,
+            TaskMapper mapper,
+            Validator validator,
+            @Value("${tasks.batch.max-size:500}") int maxBatchSize
+    ) {
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.summaryService = summaryService;
+        this.taskCache = taskCache;
+        this.userService = userService;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Transactional
+    public TaskBatchResponseDTO create(List<TaskPostRequestDTO> requests, Long userId, boolean partial) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new BadRequestException("O lote deve conter entre 1 e " + maxBatchSize + " tarefas.");
+        }
+
+        List<List<String>> errors = requests.stream().map(this::validate).toList();
+        boolean hasErrors = errors.stream().anyMatch(itemErrors -> !itemErrors.isEmpty());
+
+        User user = userService.getReferenceById(userId);
+        List<Task> tasksToSave = new ArrayList<>();
+        if (partial || !hasErrors) {
+            for (int i = 0; i < requests.size(); i++) {
+                if (errors.get(i).isEmpty()) {
+                    Task task = mapper.toTask(requests.get(i));
+                    task.setUser(user);
+                    tasksToSave.add(task);
+                }
+            }
+        }
+
+        List<Task> savedTasks = tasksToSave.isEmpty() ? List.of() : taskService.saveAll(tasksToSave);
+
+        List<TaskBatchResponseDTO.ItemResult> results = new ArrayList<>();
+        int saved = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (!errors.get(i).isEmpty() || savedTasks.isEmpty()) {
+                results.add(new TaskBatchResponseDTO.ItemResult(i, null, List.of(), errors.get(i)));
+                continue;
+            }
+            Task task = savedTasks.get(saved++);
+            List<Long> subtaskIds = task.getSubTasks().stream().map(Task::getId).toList();
+            results.add(new TaskBatchResponseDTO.ItemResult(i, task.getId(), subtaskIds, List.of()));
+        }
+
+        int failed = (int) errors.stream().filter(itemErrors -> !itemErrors.isEmpty()).count();
+        return new TaskBatchResponseDTO(savedTasks.size(), failed, results);
+    }
+
+    @Transactional
+    public TaskBulkStatusResponseDTO updateStatus(TaskBulkStatusRequestDTO request, Long userId) {
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        Specification<Task> spec = selectionSpec(request.ids(), request.filter(), userId);
+
+        // As subtarefas são atualizadas antes das tarefas principais para que uma tarefa e suas
+        // subtarefas possam ser concluídas na mesma requisição
+        List<TaskState> subTasks = taskRepository.findStatesForUpdate(spec.and(TaskSpecification.isSubTask()));
+        List<Long> subTaskIds = subTasks.stream().map(TaskState::id).toList();
+        if (!subTaskIds.isEmpty()) {
+            taskRepository.updateStatusByIdInAndUserId(subTaskIds, request.status(), userId);
+            taskService.incrementSubtaskCounters(userId, subTasks.stream().collect(Collectors.toMap(
+                    TaskState::parentTaskId,
+                    subTask -> SubtaskCounterDelta.statusChanged(subTask.status(), request.status()),
+                    SubtaskCounterDelta::plus)));
+        }
+
+        Specification<Task> parentSpec = spec.and(TaskSpecification.isTopLevelTask());
+        if (request.status() == TaskStatus.DONE) {
+            parentSpec = parentSpec.and(Specification.not(TaskSpecification.hasIncompleteSubTasks()));
+        }
+        List<TaskState> parents = taskRepository.findStatesForUpdate(parentSpec);
+        List<Long> parentIds = parents.stream().map(TaskState::id).toList();
+        if (!parentIds.isEmpty()) {
+            taskRepository.updateStatusByIdInAndUserId(parentIds, request.status(), userId);
+            summaryService.increment(userId, parents.stream()
+                    .map(parent -> TaskSummaryDelta.changed(parent.status(), parent.priority(), request.status(), parent.priority()))
+                    .reduce(TaskSummaryDelta.ZERO, TaskSummaryDelta::plus));
+        }
+
+        Set<Long> affectedIds = new TreeSet<>(subTaskIds);
+        affectedIds.addAll(parentIds);
+        taskCache.invalidateAfterCompletion(userId, affectedIds);
+
+        List<Long> rejectedIds;
+        if (hasIds) {
+            rejectedIds = request.ids().stream().distinct().filter(id -> !affectedIds.contains(id)).toList();
+        } else if (request.status() == TaskStatus.DONE) {
+            rejectedIds = taskRepository.findIds(spec.and(TaskSpecification.hasIncompleteSubTasks()));
+        } else {
+            rejectedIds = List.of();
+        }
+
+        return new TaskBulkStatusResponseDTO(affectedIds.size(), List.copyOf(affectedIds), rejectedIds);
+    }
+
+    @Transactional
+    public TaskBulkDeleteResponseDTO delete(TaskBulkDeleteRequestDTO request, Long userId) {
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        Specification<Task> spec = selectionSpec(request.ids(), request.filter(), userId);
+
+        // Bloqueia as tarefas selecionadas e exclui subtarefas e tarefas com dois DELETEs,
+        // independentemente da quantidade de subtarefas
+        List<TaskState> states = taskRepository.findStatesForUpdate(spec);
+        List<Long> ids = states.stream().map(TaskState::id).toList();
+        if (!ids.isEmpty()) {
+            // Só as tarefas principais que continuam existindo precisam ter os contadores decrementados
+            Set<Long> selectedIds = Set.copyOf(ids);
+            taskService.incrementSubtaskCounters(userId, states.stream()
+                    .filter(state -> state.parentTaskId() != null && !selectedIds.contains(state.parentTaskId()))
+                    .collect(Collectors.toMap(
+                            TaskState::parentTaskId,
+                            state -> SubtaskCounterDelta.removed(state.status()),
+                            SubtaskCounterDelta::plus)));
+            summaryService.increment(userId, states.stream()
+                    .filter(state -> state.parentTaskId() == null)
+                    .map(state -> TaskSummaryDelta.removed(state.status(), state.priority()))
+                    .reduce(TaskSummaryDelta.ZERO, TaskSummaryDelta::plus));
+            taskCache.invalidateAfterCompletion(userId, taskRepository.findSubTaskIdsByParentIdInAndUserId(ids, userId));
+            taskCache.invalidateAfterCompletion(userId, ids);
+            taskRepository.deleteSubTasksByParentIdInAndUserId(ids, userId);
+            taskRepository.deleteByIdInAndUserId(ids, userId);
+        }
+
+        Set<Long> deletedIds = new TreeSet<>(ids);
+        List<Long> rejectedIds = hasIds
+                ? request.ids().stream().distinct().filter(id -> !deletedIds.contains(id)).toList()
+                : List.of();
+
+        return new TaskBulkDeleteResponseDTO(deletedIds.size(), List.copyOf(deletedIds), rejectedIds);
+    }
+
+    // Uma consulta IN para as tarefas do usuário (subtarefas carregadas em lote) e, só quando faltam ids,
+    // outra para separar as tarefas de outros usuários das inexistentes
+    @Transactional(readOnly = true)
+    public TaskLookupResponseDTO lookup(TaskLookupRequestDTO request, Long userId) {
+        List<Long> ids = request.ids() == null ? List.of()
+                : request.ids().stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty() || ids.size() > maxBatchSize) {
+            throw new BadRequestException("O lote deve conter entre 1 e " + maxBatchSize + " tarefas.");
+        }
+
+        Specification<Task> spec = TaskSpecification.hasUserId(userId).and(TaskSpecification.hasIdIn(ids));
+        Map<Long, TaskGetResponseDTO> found = taskRepository.findAllProjected(spec, Sort.unsorted(), ids.size()).stream()
+                .collect(Collectors.toMap(TaskGetResponseDTO::id, Function.identity()));
+
+        List<TaskGetResponseDTO> tasks = new ArrayList<>(found.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : ids) {
+            TaskGetResponseDTO task = found.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                notFound.add(id);
+            }
+        }
+        if (notFound.isEmpty()) {
+            return new TaskLookupResponseDTO(tasks, List.of(), List.of());
+        }
+
+        Set<Long> existing = Set.copyOf(taskRepository.findIds(TaskSpecification.hasIdIn(notFound)));
+        List<Long> forbiddenIds = notFound.stream().filter(existing::contains).toList();
+        List<Long> missingIds = notFound.stream().filter(id -> !existing.contains(id)).toList();
+        return new TaskLookupResponseDTO(tasks, missingIds, forbiddenIds);
+    }
+
+    private Specification<Task> selectionSpec(List<Long> ids, TaskBulkFilterDTO filter, Long userId) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        if (hasIds == (filter != null)) {
+            throw new BadRequestException("Informe a lista de 'ids' ou um 'filter', mas não ambos.");
+        }
+        if (hasIds && ids.size() > maxBatchSize) {
+            throw new BadRequestException("O lote deve conter entre 1 e " + maxBatchSize + " tarefas.");
+        }
+
+        return hasIds
+                ? TaskSpecification.hasUserId(userId).and(TaskSpecification.hasIdIn(ids))
+                : TaskSpecification.buildFilterSpec(userId, TaskFilter.of(filter));
+    }
+
+    private List<String> validate(TaskPostRequestDTO request) {
+        if (request == null) {
+            return List.of("A tarefa não pode ser nula.");
+        }
+
+        List<String> errors = new ArrayList<>(validator.validate(request).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(this::toMessage)
+                .toList());
+
+        if (request.subtasks() != null) {
+            for (int i = 0; i < request.subtasks().size(); i++) {
+                TaskPostRequestDTO subtask = request.subtasks().get(i);
+                if (subtask == null) {
+                    errors.add("subtasks[" + i + "]: A subtarefa não pode ser nula.");
+                } else if (subtask.subtasks() != null && !subtask.subtasks().isEmpty()) {
+                    errors.add("subtasks[" + i + "]: Não é possível aninhar subtarefas. A tarefa pai deve ser uma tarefa principal");
+                }
+            }
+        }
+        return errors;
+    }
+
+    private String toMessage(ConstraintViolation<TaskPostRequestDTO> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+}
@@ -0,0 +1,69 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.model.Task;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+
+// ETag das tarefas derivado de (id, version) da tarefa e de suas subtarefas, sem serializar o corpo.
+// Alterar, criar ou excluir uma subtarefa muda o ETag da tarefa principal
+public final class TaskETag {
+
+    private TaskETag() {
+    }
+
+    public static String of(Task task) {
+        StringBuilder state = new StringBuilder();
+        append(state, task.getId(), task.getVersion());
+        task.getSubTasks().stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .forEach(subTask -> append(state.append(','), subTask.getId(), subTask.getVersion()));
+        return hash(state);
+    }
+
+    public static String of(TaskGetResponseDTO task) {
+        return hash(append(new StringBuilder(), task));
+    }
+
+    // Os metadados da página (total, cursor) entram no ETag porque também fazem parte da resposta
+    public static String of(Collection<TaskGetResponseDTO> tasks, Object... pageState) {
+        StringBuilder state = new StringBuilder();
+        for (Object value : pageState) {
+            state.append(value).append('|');
+        }
+        tasks.forEach(task -> append(state, task).append(';'));
+        return hash(state);
+    }
+
+    public static boolean matches(String ifMatch, String eTag) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static StringBuilder append(StringBuilder state, TaskGetResponseDTO task) {
+        append(state, task.id(), task.version());
+        if (task.subtasks() != null) {
+            task.subtasks().forEach(subTask -> append(state.append(','), subTask.id(), subTask.version()));
+        }
+        return state;
+    }
+
+    private static StringBuilder append(StringBuilder state, Long id, Long version) {
+        return state.append(id).append(':').append(version);
+    }
+
+    private static String hash(StringBuilder state) {
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
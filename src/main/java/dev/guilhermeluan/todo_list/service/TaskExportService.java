@@ -0,0 +1,61 @@
+package dev.guilhermeluan.todo_list.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.guilhermeluan.todo_list.dto.TaskExportDTO;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class TaskExportService {
+    private final TaskRepository repository;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public TaskExportService(TaskRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.ndjsonWriter = objectMapper.writerFor(TaskExportDTO.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .build();
+        this.csvWriter = csvMapper.writerFor(TaskExportDTO.class)
+                .with(csvMapper.schemaFor(TaskExportDTO.class).withHeader());
+    }
+
+    // As linhas são lidas por um cursor somente-leitura e escritas uma a uma na saída, sem acumular
+    // entidades nem o corpo da resposta; a memória usada não depende da quantidade de tarefas
+    @Transactional(readOnly = true)
+    public long export(Long userId, TaskFileFormat format, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<TaskExportDTO> tasks = repository.streamForExportByUserId(userId);
+             SequenceWriter writer = (format == TaskFileFormat.CSV ? csvWriter : ndjsonWriter).writeValues(out)) {
+            Iterator<TaskExportDTO> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                exported++;
+            }
+        }
+
+        if (format == TaskFileFormat.NDJSON && exported > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return exported;
+    }
+}
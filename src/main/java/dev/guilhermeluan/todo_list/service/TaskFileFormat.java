@@ -0,0 +1,33 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+
+public enum TaskFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TaskFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static TaskFileFormat from(String format) {
+        for (TaskFileFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new BadRequestException("Formato de arquivo não suportado: " + format);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,84 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.dto.TaskImportReportDTO;
+import dev.guilhermeluan.todo_list.dto.TaskImportReportDTO.RowError;
+import dev.guilhermeluan.todo_list.dto.TaskImportReportDTO.Status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Estado de uma importação, atualizado pela thread que processa o arquivo e lido pelas requisições de acompanhamento
+public class TaskImportJob {
+    private final UUID id = UUID.randomUUID();
+    private final Long userId;
+    private final TaskFileFormat format;
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+
+    private Status status = Status.QUEUED;
+    private long processed;
+    private long imported;
+    private long failed;
+    private String failureReason;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public TaskImportJob(Long userId, TaskFileFormat format, int maxErrors) {
+        this.userId = userId;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public TaskFileFormat getFormat() {
+        return format;
+    }
+
+    synchronized void start() {
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    synchronized void addImported(long count) {
+        processed += count;
+        imported += count;
+    }
+
+    // Apenas os primeiros erros são guardados; a contagem continua exata
+    synchronized void addError(long line, Long sourceId, String message) {
+        processed++;
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, sourceId, message));
+        }
+    }
+
+    synchronized void complete() {
+        status = Status.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    synchronized void fail(String reason) {
+        status = Status.FAILED;
+        failureReason = reason;
+        finishedAt = Instant.now();
+    }
+
+    synchronized boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public synchronized TaskImportReportDTO toReport() {
+        return new TaskImportReportDTO(id, status, format.getExtension(), processed, imported, failed,
+                List.copyOf(errors), failed > errors.size(), failureReason, startedAt, finishedAt);
+    }
+}
@@ -0,0 +1,58 @@
+package dev.guilhermeluan.todo_list.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+// Mantém o relatório das importações por um período após o término para consulta do progresso.
+// Importações na fila ou em andamento não expiram; o prazo começa a contar quando finished é chamado
+@Component
+public class TaskImportRegistry {
+    private final Cache<UUID, TaskImportJob> jobs;
+
+    public TaskImportRegistry(@Value("${tasks.import.retention:1h}") Duration retention) {
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new RetentionAfterFinish(retention.toNanos()))
+                .build();
+    }
+
+    public void register(TaskImportJob job) {
+        jobs.put(job.getId(), job);
+    }
+
+    // Regrava o job já concluído para que o prazo de retenção seja recalculado a partir de agora
+    public void finished(TaskImportJob job) {
+        jobs.asMap().computeIfPresent(job.getId(), (id, current) -> job);
+    }
+
+    public Optional<TaskImportJob> find(UUID id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    public void remove(UUID id) {
+        jobs.invalidate(id);
+    }
+
+    private record RetentionAfterFinish(long retentionNanos) implements Expiry<UUID, TaskImportJob> {
+        @Override
+        public long expireAfterCreate(UUID id, TaskImportJob job, long currentTime) {
+            return job.isFinished() ? retentionNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, TaskImportJob job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, TaskImportJob job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package dev.guilhermeluan.todo_list.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import dev.guilhermeluan.todo_list.dto.TaskImportRowDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPostRequestDTO;
+import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.exceptions.PayloadTooLargeException;
+import dev.guilhermeluan.todo_list.exceptions.TooManyRequestsException;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskMapper;
+import dev.guilhermeluan.todo_list.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class TaskImportService {
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private final TaskService taskService;
+    private final TaskSummaryService summaryService;
+    private final TaskImportRegistry registry;
+    private final TaskMapper mapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader csvReader;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    // Uma vaga por thread do pool e por posição da fila, ocupada da cópia do arquivo até o fim do processamento
+    private final Semaphore slots;
+    private final long maxBytes;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskImportService(
+            TaskService taskService,
+            TaskSummaryService summaryService,
+            TaskImportRegistry registry,
+            TaskMapper mapper,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("taskImportExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${tasks.import.max-bytes:100MB}") DataSize maxBytes,
+            @Value("${tasks.import.chunk-size:1000}") int chunkSize,
+            @Value("${tasks.import.max-errors:100}") int maxErrors
+    ) {
+        this.taskService = taskService;
+        this.summaryService = summaryService;
+        this.registry = registry;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.csvReader = new CsvMapper().readerFor(Map.class).with(CsvSchema.emptySchema().withHeader());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.slots = new Semaphore(executor.getMaxPoolSize() + executor.getQueueCapacity());
+        this.maxBytes = maxBytes.toBytes();
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    // O corpo é copiado para um arquivo temporário antes de responder, liberando a conexão HTTP
+    // sem manter o arquivo em memória; o processamento segue em segundo plano. A vaga é reservada antes
+    // da cópia, para que uma importação que seria recusada não chegue a gravar o arquivo
+    public TaskImportJob start(Long userId, TaskFileFormat format, InputStream body) throws IOException {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Limite de importações simultâneas atingido. Tente novamente mais tarde.");
+        }
+
+        Path file;
+        try {
+            file = copyToTempFile(format, body);
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+
+        TaskImportJob job = new TaskImportJob(userId, format, maxErrors);
+        registry.register(job);
+        try {
+            executor.execute(() -> runFromFile(job, file));
+        } catch (TaskRejectedException e) {
+            slots.release();
+            registry.remove(job.getId());
+            Files.deleteIfExists(file);
+            throw new TooManyRequestsException("Limite de importações simultâneas atingido. Tente novamente mais tarde.");
+        }
+        return job;
+    }
+
+    public TaskImportJob findJob(UUID importId, Long userId) {
+        return registry.find(importId)
+                .filter(job -> job.getUserId().equals(userId))
+                .orElseThrow(() -> new NotFoundException("Importação não encontrada com o id: " + importId));
+    }
+
+    // Lê o arquivo linha a linha e grava as tarefas válidas em blocos de chunkSize, cada um na sua transação;
+    // um bloco com falha no banco marca apenas as suas linhas como erro
+    public void run(TaskImportJob job, InputStream in) {
+        job.start();
+        ImportState state = new ImportState(job);
+        try {
+            if (job.getFormat() == TaskFileFormat.CSV) {
+                readCsv(in, state);
+            } else {
+                readNdjson(in, state);
+            }
+            state.writePending();
+            job.complete();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Importação {} interrompida: {}", job.getId(), e.getMessage());
+            job.fail("Não foi possível ler o arquivo: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Importação {} interrompida", job.getId(), e);
+            job.fail("Erro inesperado durante a importação.");
+        }
+    }
+
+    private void runFromFile(TaskImportJob job, Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            run(job, in);
+        } catch (IOException e) {
+            job.fail("Não foi possível ler o arquivo: " + e.getMessage());
+        } finally {
+            registry.finished(job);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover o arquivo temporário {}", file, e);
+            }
+            slots.release();
+        }
+    }
+
+    // A cópia é interrompida assim que o limite é ultrapassado, sem ler o restante do corpo
+    private Path copyToTempFile(TaskFileFormat format, InputStream body) throws IOException {
+        Path file = Files.createTempFile("task-import-", "." + format.getExtension());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            long copied = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                copied += read;
+                if (copied > maxBytes) {
+                    throw new PayloadTooLargeException("O arquivo de importação excede o limite de " + maxBytes + " bytes.");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void readNdjson(InputStream in, ImportState state) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long line = 0;
+        String content;
+        while ((content = reader.readLine()) != null) {
+            line++;
+            if (content.isBlank()) {
+                continue;
+            }
+            try {
+                state.accept(line, objectMapper.readValue(content, TaskImportRowDTO.class));
+            } catch (JsonProcessingException e) {
+                state.job.addError(line, null, "Linha inválida: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // Cada registro é lido como texto e convertido separadamente, para que um valor inválido
+    // não desalinhe a leitura dos registros seguintes
+    private void readCsv(InputStream in, ImportState state) throws IOException {
+        try (MappingIterator<Map<String, String>> rows = csvReader.readValues(in)) {
+            long line = 1;
+            while (rows.hasNextValue()) {
+                Map<String, String> row = rows.nextValue();
+                line++;
+                row.replaceAll((column, value) -> value == null || value.isEmpty() ? null : value);
+                try {
+                    state.accept(line, objectMapper.convertValue(row, TaskImportRowDTO.class));
+                } catch (IllegalArgumentException e) {
+                    state.job.addError(line, null, "Linha inválida: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<String> validate(TaskImportRowDTO row) {
+        return validator.validate(row.toPostRequest()).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(this::toMessage)
+                .toList();
+    }
+
+    private String toMessage(ConstraintViolation<TaskPostRequestDTO> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private record PendingRow(long line, TaskImportRowDTO row) {
+    }
+
+    private record RowFailure(long line, Long sourceId, String message) {
+    }
+
+    private class ImportState {
+        private final TaskImportJob job;
+        // Id no arquivo -> id gravado, apenas das tarefas principais (possíveis tarefas pai)
+        private final Map<Long, Long> parentIds = new HashMap<>();
+        private final List<PendingRow> pending = new ArrayList<>(chunkSize);
+
+        private ImportState(TaskImportJob job) {
+            this.job = job;
+        }
+
+        private void accept(long line, TaskImportRowDTO row) {
+            List<String> errors = validate(row);
+            if (!errors.isEmpty()) {
+                job.addError(line, row.id(), String.join("; ", errors));
+                return;
+            }
+            pending.add(new PendingRow(line, row));
+            if (pending.size() >= chunkSize) {
+                writePending();
+            }
+        }
+
+        private void writePending() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<RowFailure> failures = new ArrayList<>();
+            Map<Long, Long> chunkParentIds = new HashMap<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeChunk(failures, chunkParentIds));
+                parentIds.putAll(chunkParentIds);
+                job.addImported(pending.size() - failures.size());
+                failures.forEach(failure -> job.addError(failure.line(), failure.sourceId(), failure.message()));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Falha ao gravar bloco da importação {}: {}", job.getId(), e.getMessage());
+                pending.forEach(pendingRow -> job.addError(pendingRow.line(), pendingRow.row().id(),
+                        "Não foi possível gravar o bloco desta linha."));
+            } finally {
+                pending.clear();
+            }
+        }
+
+        private void writeChunk(List<RowFailure> failures, Map<Long, Long> chunkParentIds) {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(chunkSize);
+
+            User user = entityManager.getReference(User.class, job.getUserId());
+            Map<Long, SubtaskCounterDelta> counterDeltas = new HashMap<>();
+            TaskSummaryDelta summaryDelta = TaskSummaryDelta.ZERO;
+
+            for (PendingRow pendingRow : pending) {
+                TaskImportRowDTO row = pendingRow.row();
+                Long parentId = null;
+                if (row.parentTaskId() != null) {
+                    parentId = chunkParentIds.getOrDefault(row.parentTaskId(), parentIds.get(row.parentTaskId()));
+                    if (parentId == null) {
+                        failures.add(new RowFailure(pendingRow.line(), row.id(),
+                                "Tarefa pai não encontrada entre as tarefas principais anteriores do arquivo: " + row.parentTaskId()));
+                        continue;
+                    }
+                }
+
+                Task task = mapper.toTask(row.toPostRequest());
+                task.setUser(user);
+                if (parentId != null) {
+                    task.setParentTask(entityManager.getReference(Task.class, parentId));
+                    task.setIsSubTask(true);
+                    counterDeltas.merge(parentId, SubtaskCounterDelta.added(task.getStatus()), SubtaskCounterDelta::plus);
+                } else {
+                    summaryDelta = summaryDelta.plus(TaskSummaryDelta.added(task.getStatus(), task.getPriority()));
+                }
+                entityManager.persist(task);
+                if (parentId == null && row.id() != null) {
+                    chunkParentIds.put(row.id(), task.getId());
+                }
+            }
+
+            entityManager.flush();
+            taskService.incrementSubtaskCounters(job.getUserId(), counterDeltas);
+            if (!summaryDelta.isZero()) {
+                summaryService.increment(job.getUserId(), summaryDelta);
+            }
+            entityManager.clear();
+        }
+    }
+}
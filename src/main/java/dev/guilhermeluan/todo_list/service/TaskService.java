@@ -1,34 +1,103 @@
 package dev.guilhermeluan.todo_list.service;
 
+import dev.guilhermeluan.todo_list.dto.SubtaskCountersDTO;
+import dev.guilhermeluan.todo_list.dto.TaskCursor;
+import dev.guilhermeluan.todo_list.dto.TaskCursorPageResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskFilter;
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPatchRequestDTO;
 import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
 import dev.guilhermeluan.todo_list.exceptions.ForbiddenException;
 import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.exceptions.PreconditionFailedException;
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
 import dev.guilhermeluan.todo_list.model.Priority;
 import dev.guilhermeluan.todo_list.model.Task;
 import dev.guilhermeluan.todo_list.model.TaskStatus;
 import dev.guilhermeluan.todo_list.model.User;
 import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.TaskProjectionRepository.TaskState;
 import dev.guilhermeluan.todo_list.repository.TaskSpecification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
+    public static final String RELEVANCE_SORT = "relevance";
+
     private final TaskRepository repository;
     private final UserService userService;
+    private final TaskSummaryService summaryService;
+    private final TaskCache taskCache;
 
-    public TaskService(TaskRepository repository, UserService userService) {
+    public TaskService(TaskRepository repository, UserService userService, TaskSummaryService summaryService, TaskCache taskCache) {
         this.repository = repository;
         this.userService = userService;
+        this.summaryService = summaryService;
+        this.taskCache = taskCache;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TaskGetResponseDTO> findAllProjected(Long userId, TaskFilter filter, Pageable pageable) {
+        Specification<Task> spec = TaskSpecification.buildFilterSpec(userId, filter);
+
+        Sort.Order relevance = pageable.getSort().getOrderFor(RELEVANCE_SORT);
+        if (relevance != null) {
+            if (filter.q() == null) {
+                throw new BadRequestException("A ordenação por relevância exige o parâmetro 'q'.");
+            }
+            // A relevância é sempre decrescente e não se combina com outros campos
+            if (relevance.isAscending() || pageable.getSort().stream().count() > 1) {
+                throw new BadRequestException("A ordenação por relevância aceita apenas a direção DESC, sem outros campos.");
+            }
+            spec = spec.and(TaskSpecification.orderByRelevance(filter.q()));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
+        return repository.findAllProjected(spec, pageable);
     }
 
-    public Page<Task> findAll(Long userId, TaskStatus status, Priority priority, LocalDate dueDate, Pageable pageable) {
-        Specification<Task> spec = TaskSpecification.buildFilterSpec(userId, status, priority, dueDate);
-        return repository.findAll(spec, pageable);
+    @Transactional(readOnly = true)
+    public TaskCursorPageResponseDTO findAllByCursor(Long userId, TaskFilter filter, String sort, Sort.Direction direction, String cursor, int size) {
+        if (!TaskCursor.SORTABLE_FIELDS.contains(sort)) {
+            throw new BadRequestException("Ordenação não suportada na paginação por cursor: " + sort);
+        }
+        if (size < 1) {
+            throw new BadRequestException("O tamanho da página deve ser maior que zero.");
+        }
+
+        Specification<Task> spec = TaskSpecification.buildFilterSpec(userId, filter);
+
+        if (cursor != null && !cursor.isBlank()) {
+            TaskCursor after = TaskCursor.decode(cursor);
+            if (!after.sort().equals(sort) || after.direction() != direction) {
+                throw new BadRequestException("O cursor não corresponde à ordenação solicitada.");
+            }
+            spec = spec.and(TaskSpecification.isAfter(sort, direction, after.typedValue(), after.id()));
+        }
+
+        Sort seekSort = sort.equals("id")
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sort).and(Sort.by(direction, "id"));
+
+        List<TaskGetResponseDTO> rows = repository.findAllProjected(spec, seekSort, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<TaskGetResponseDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? TaskCursor.after(sort, direction, content.getLast()).encode() : null;
+
+        return new TaskCursorPageResponseDTO(content, size, content.size(), hasNext, nextCursor);
     }
 
     public Task findByIdOrThrowNotFound(Long id) {
@@ -36,30 +105,92 @@ public class TaskService {
                 .orElseThrow(() -> new NotFoundException("Tarefa não encontrada com o id: " + id));
     }
 
+    @Transactional
     public Task save(Task task) {
-        return repository.save(task);
+        attachSubTasks(task);
+        Task savedTask = repository.save(task);
+        summaryService.increment(savedTask.getUser().getId(), TaskSummaryDelta.added(savedTask.getStatus(), savedTask.getPriority()));
+        return savedTask;
     }
 
-    public void update(Task taskToUpdate, Long userId) {
-        Task taskFound = findByIdOrThrowNotFound(taskToUpdate.getId());
-        User user = userService.findUserByIdOrThrowNotFound(userId);
+    @Transactional
+    public List<Task> saveAll(List<Task> tasks) {
+        tasks.forEach(this::attachSubTasks);
+        List<Task> savedTasks = repository.saveAll(tasks);
+
+        Map<Long, TaskSummaryDelta> deltasByUserId = savedTasks.stream()
+                .collect(Collectors.toMap(
+                        task -> task.getUser().getId(),
+                        task -> TaskSummaryDelta.added(task.getStatus(), task.getPriority()),
+                        TaskSummaryDelta::plus));
+        deltasByUserId.forEach(summaryService::increment);
+        return savedTasks;
+    }
 
-        validateTaskOwnership(taskFound, userId);
+    @Transactional
+    public void update(Task taskToUpdate, Long userId, String ifMatch) {
+        Task taskFound = findOwnedByIdOrThrow(taskToUpdate.getId(), userId);
+        assertETagMatches(taskFound, ifMatch);
+        User user = userService.getReferenceById(userId);
 
-        if (taskToUpdate.getStatus() == TaskStatus.DONE && !taskToUpdate.isSubTask()) {
+        if (taskToUpdate.getStatus() == TaskStatus.DONE && !taskFound.isSubTask()) {
             assertThatAllSubTasksAreCompleted(taskFound);
         }
 
+        SubtaskCounterDelta delta = SubtaskCounterDelta.statusChanged(taskFound.getStatus(), taskToUpdate.getStatus());
+        incrementSummary(taskFound, userId, taskToUpdate.getStatus(), taskToUpdate.getPriority());
         taskToUpdate.setUser(user);
+        taskToUpdate.setVersion(taskFound.getVersion());
+        taskToUpdate.setParentTask(taskFound.getParentTask());
+        taskToUpdate.setIsSubTask(taskFound.isSubTask());
         taskToUpdate.setSubTasks(taskFound.getSubTasks());
+        // Os contadores não vêm no PUT; sem copiá-los o merge deixaria 0/0 na entidade gerenciada e no cache
+        taskToUpdate.setSubtaskTotal(taskFound.getSubtaskTotal());
+        taskToUpdate.setSubtaskDone(taskFound.getSubtaskDone());
 
         repository.save(taskToUpdate);
+        incrementParentCounters(taskFound.getParentTask(), delta);
+        evictAfterCommit(userId, taskFound);
     }
 
-    public Task createSubTask(Long parentId, Task subTask, Long userId) {
-        Task parentTask = findByIdOrThrowNotFound(parentId);
+    @Transactional
+    public Task patch(Long id, TaskPatchRequestDTO patch, Long userId, String ifMatch) {
+        Task task = findOwnedByIdOrThrow(id, userId);
+        assertETagMatches(task, ifMatch);
 
-        validateTaskOwnership(parentTask, userId);
+        TaskStatus newStatus = patch.getStatus() != null ? patch.getStatus().orElse(null) : task.getStatus();
+        if (newStatus == TaskStatus.DONE && task.getStatus() != TaskStatus.DONE && !task.isSubTask()) {
+            assertThatAllSubTasksAreCompleted(task);
+        }
+
+        // O resumo é incrementado antes das alterações: a consulta nativa provoca flush da entidade
+        incrementSummary(task, userId, newStatus,
+                patch.getPriority() != null ? patch.getPriority().orElse(null) : task.getPriority());
+
+        // Só os campos enviados são alterados; com @DynamicUpdate o UPDATE inclui apenas as colunas modificadas
+        if (patch.getTitle() != null) {
+            task.setTitle(patch.getTitle().orElse(null));
+        }
+        if (patch.getDescription() != null) {
+            task.setDescription(patch.getDescription().orElse(null));
+        }
+        if (patch.getDueDate() != null) {
+            task.setDueDate(patch.getDueDate().orElse(null));
+        }
+        if (patch.getStatus() != null) {
+            incrementParentCounters(task.getParentTask(), SubtaskCounterDelta.statusChanged(task.getStatus(), newStatus));
+            task.setStatus(newStatus);
+        }
+        if (patch.getPriority() != null) {
+            task.setPriority(patch.getPriority().orElse(null));
+        }
+        evictAfterCommit(userId, task);
+        return task;
+    }
+
+    @Transactional
+    public Task createSubTask(Long parentId, Task subTask, Long userId) {
+        Task parentTask = findOwnedByIdOrThrow(parentId, userId);
 
         if (parentTask.isSubTask()) {
             throw new BadRequestException("Não é possível aninhar subtarefas. A tarefa pai deve ser uma tarefa principal");
@@ -68,46 +199,167 @@ public class TaskService {
         subTask.setParentTask(parentTask);
         subTask.setIsSubTask(true);
         parentTask.getSubTasks().add(subTask);
-        return repository.save(subTask);
+        Task savedSubTask = repository.save(subTask);
+        incrementParentCounters(parentTask, SubtaskCounterDelta.added(savedSubTask.getStatus()));
+        taskCache.invalidateAfterCompletion(userId, List.of(parentId));
+        return savedSubTask;
+    }
+
+    @Transactional
+    public void delete(Long id, Long userId, String ifMatch) {
+        if (ifMatch != null) {
+            assertETagMatches(findOwnedByIdOrThrow(id, userId), ifMatch);
+        }
+
+        // Bloqueia a linha e lê apenas o estado necessário para manter os contadores da tarefa principal,
+        // sem carregar o grafo da tarefa
+        List<Long> ids = List.of(id);
+        TaskState state = repository.findStatesForUpdate(TaskSpecification.hasUserId(userId).and(TaskSpecification.hasIdIn(ids)))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> notFoundOrForbidden(id));
+
+        if (state.parentTaskId() == null) {
+            taskCache.invalidateAfterCompletion(userId, repository.findSubTaskIdsByParentIdInAndUserId(ids, userId));
+            repository.deleteSubTasksByParentIdInAndUserId(ids, userId);
+            summaryService.increment(userId, TaskSummaryDelta.removed(state.status(), state.priority()));
+        }
+        repository.deleteByIdInAndUserId(ids, userId);
+        taskCache.invalidateAfterCompletion(userId, ids);
+        if (state.parentTaskId() != null) {
+            incrementSubtaskCounters(userId, Map.of(state.parentTaskId(), SubtaskCounterDelta.removed(state.status())));
+        }
+    }
+
+    // Agrupa as tarefas principais pela mesma variação para aplicar um único UPDATE atômico por grupo
+    @Transactional
+    public void incrementSubtaskCounters(Long userId, Map<Long, SubtaskCounterDelta> deltasByParentId) {
+        taskCache.invalidateAfterCompletion(userId, deltasByParentId.keySet());
+        applySubtaskCounterDeltas(deltasByParentId);
+    }
+
+    private void applySubtaskCounterDeltas(Map<Long, SubtaskCounterDelta> deltasByParentId) {
+        Map<SubtaskCounterDelta, List<Long>> parentIdsByDelta = deltasByParentId.entrySet().stream()
+                .filter(entry -> !entry.getValue().isZero())
+                .collect(Collectors.groupingBy(Map.Entry::getValue, Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+        parentIdsByDelta.forEach((delta, parentIds) ->
+                repository.incrementSubtaskCounters(parentIds, delta.total(), delta.done()));
     }
 
-    public void delete(Long id, Long userId) {
-        Task task = findByIdOrThrowNotFound(id);
-        validateTaskOwnership(task, userId);
-        repository.deleteById(id);
+    // Confere um bloco de até chunkSize tarefas com id maior que afterId, cada bloco na sua transação; com
+    // fix = true corrige a divergência com o mesmo UPDATE incremental usado no restante do serviço. O recálculo
+    // completo da migração V5 (update ... join) é específico do MySQL; o UPDATE incremental usa SQL padrão, roda em
+    // qualquer banco e só toca as tarefas divergentes do bloco. Retorna o bloco inteiro para quem percorre a tabela
+    // avançar o id
+    @Transactional
+    public List<SubtaskCountersDTO> reconcileSubtaskCountersChunk(Long afterId, int chunkSize, boolean fix) {
+        List<SubtaskCountersDTO> chunk = repository.findSubtaskCountersAfter(afterId, Limit.of(chunkSize));
+        List<SubtaskCountersDTO> drifts = chunk.stream().filter(SubtaskCountersDTO::hasDrift).toList();
+        if (fix && !drifts.isEmpty()) {
+            applySubtaskCounterDeltas(drifts.stream().collect(Collectors.toMap(
+                    SubtaskCountersDTO::taskId,
+                    drift -> new SubtaskCounterDelta(
+                            drift.actualTotal().intValue() - drift.storedTotal(),
+                            drift.actualDone().intValue() - drift.storedDone()))));
+            taskCache.invalidateAllAfterCompletion();
+        }
+        return chunk;
     }
 
     public void assertTaskExists(Long id) {
         findByIdOrThrowNotFound(id);
     }
 
-    public Task updateStatus(TaskStatus newStatus, Long id, Long userId) {
-        Task existingTask = findByIdOrThrowNotFound(id);
-        User user = userService.findUserByIdOrThrowNotFound(userId);
-
-        validateTaskOwnership(existingTask, userId);
+    @Transactional
+    public Task updateStatus(TaskStatus newStatus, Long id, Long userId, String ifMatch) {
+        Task existingTask = findOwnedByIdOrThrow(id, userId);
+        assertETagMatches(existingTask, ifMatch);
 
         if (newStatus == TaskStatus.DONE && !existingTask.isSubTask()) {
             assertThatAllSubTasksAreCompleted(existingTask);
         }
 
-        existingTask.setUser(user);
+        incrementParentCounters(existingTask.getParentTask(), SubtaskCounterDelta.statusChanged(existingTask.getStatus(), newStatus));
+        incrementSummary(existingTask, userId, newStatus, existingTask.getPriority());
         existingTask.setStatus(newStatus);
+        evictAfterCommit(userId, existingTask);
         return repository.save(existingTask);
     }
 
-    private void assertThatAllSubTasksAreCompleted(Task parentTask) {
-        boolean hasIncompleteSubTasks = parentTask.getSubTasks().stream()
-                .anyMatch(subTask -> subTask.getStatus() != TaskStatus.DONE);
+    private void attachSubTasks(Task parentTask) {
+        if (parentTask.getSubTasks() == null) {
+            return;
+        }
 
-        if (hasIncompleteSubTasks) {
+        for (Task subTask : parentTask.getSubTasks()) {
+            if (subTask.getSubTasks() != null && !subTask.getSubTasks().isEmpty()) {
+                throw new BadRequestException("Não é possível aninhar subtarefas. A tarefa pai deve ser uma tarefa principal");
+            }
+            subTask.setParentTask(parentTask);
+            subTask.setIsSubTask(true);
+            subTask.setUser(parentTask.getUser());
+        }
+        parentTask.setSubtaskTotal(parentTask.getSubTasks().size());
+        parentTask.setSubtaskDone((int) parentTask.getSubTasks().stream()
+                .filter(subTask -> subTask.getStatus() == TaskStatus.DONE)
+                .count());
+    }
+
+    // Deve ser chamado antes de alterar a tarefa, enquanto ela ainda tem o status e a prioridade antigos
+    private void incrementSummary(Task task, Long userId, TaskStatus newStatus, Priority newPriority) {
+        if (!task.isSubTask()) {
+            summaryService.increment(userId, TaskSummaryDelta.changed(task.getStatus(), task.getPriority(), newStatus, newPriority));
+        }
+    }
+
+    // A tarefa principal também sai do cache, pois a sua resposta inclui as subtarefas
+    private void evictAfterCommit(Long userId, Task task) {
+        Long parentId = task.getParentTask() != null ? task.getParentTask().getId() : null;
+        taskCache.invalidateAfterCompletion(userId, Arrays.asList(task.getId(), parentId));
+    }
+
+    private void incrementParentCounters(Task parentTask, SubtaskCounterDelta delta) {
+        if (parentTask != null && !delta.isZero()) {
+            repository.incrementSubtaskCounters(List.of(parentTask.getId()), delta.total(), delta.done());
+        }
+    }
+
+    // Usa os contadores da tarefa principal em vez de carregar as subtarefas
+    private void assertThatAllSubTasksAreCompleted(Task parentTask) {
+        if (parentTask.getSubtaskDone() < parentTask.getSubtaskTotal()) {
             throw new BadRequestException("Conclua todas as subtarefas pendentes antes de finalizar a tarefa principal.");
         }
     }
 
-    private void validateTaskOwnership(Task task, Long userId) {
-        if (!task.getUser().getId().equals(userId)) {
-            throw new ForbiddenException("A tarefa não pertence ao usuário autenticado.");
+    // SUPPORTS: um acerto no cache não abre transação nem ocupa conexão com o banco
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public TaskGetResponseDTO findProjectedById(Long id, Long userId) {
+        return taskCache.get(userId, id, () -> {
+            Specification<Task> spec = TaskSpecification.hasUserId(userId).and(TaskSpecification.hasIdIn(List.of(id)));
+            return repository.findAllProjected(spec, Sort.unsorted(), 1).stream()
+                    .findFirst()
+                    .orElseThrow(() -> notFoundOrForbidden(id));
+        });
+    }
+
+    // If-Match ausente significa escrita incondicional; o @Version ainda protege contra escritas concorrentes
+    private void assertETagMatches(Task task, String ifMatch) {
+        if (ifMatch != null && !TaskETag.matches(ifMatch, TaskETag.of(task))) {
+            throw new PreconditionFailedException("A tarefa foi modificada por outra requisição. Obtenha a versão atual e tente novamente.");
+        }
+    }
+
+    private Task findOwnedByIdOrThrow(Long id, Long userId) {
+        return repository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> notFoundOrForbidden(id));
+    }
+
+    // Só consulta a existência da tarefa quando a busca pelo dono falha, para diferenciar 404 de 403
+    private ResponseStatusException notFoundOrForbidden(Long id) {
+        if (repository.existsById(id)) {
+            return new ForbiddenException("A tarefa não pertence ao usuário autenticado.");
         }
+        return new NotFoundException("Tarefa não encontrada com o id: " + id);
     }
 }
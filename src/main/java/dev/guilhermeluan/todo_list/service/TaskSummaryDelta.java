@@ -0,0 +1,41 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+
+// Variação das contagens do resumo de tarefas principais de um usuário
+public record TaskSummaryDelta(int total, int toDo, int inProgress, int done, int low, int medium, int high) {
+
+    public static final TaskSummaryDelta ZERO = new TaskSummaryDelta(0, 0, 0, 0, 0, 0, 0);
+
+    public static TaskSummaryDelta added(TaskStatus status, Priority priority) {
+        return of(1, status, priority);
+    }
+
+    public static TaskSummaryDelta removed(TaskStatus status, Priority priority) {
+        return of(-1, status, priority);
+    }
+
+    public static TaskSummaryDelta changed(TaskStatus oldStatus, Priority oldPriority, TaskStatus newStatus, Priority newPriority) {
+        return removed(oldStatus, oldPriority).plus(added(newStatus, newPriority));
+    }
+
+    public TaskSummaryDelta plus(TaskSummaryDelta other) {
+        return new TaskSummaryDelta(total + other.total, toDo + other.toDo, inProgress + other.inProgress,
+                done + other.done, low + other.low, medium + other.medium, high + other.high);
+    }
+
+    public boolean isZero() {
+        return equals(ZERO);
+    }
+
+    private static TaskSummaryDelta of(int sign, TaskStatus status, Priority priority) {
+        return new TaskSummaryDelta(sign,
+                status == TaskStatus.TO_DO ? sign : 0,
+                status == TaskStatus.IN_PROGRESS ? sign : 0,
+                status == TaskStatus.DONE ? sign : 0,
+                priority == Priority.LOW ? sign : 0,
+                priority == Priority.MEDIUM ? sign : 0,
+                priority == Priority.HIGH ? sign : 0);
+    }
+}
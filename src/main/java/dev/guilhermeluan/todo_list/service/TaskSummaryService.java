@@ -0,0 +1,61 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.dto.TaskStatsResponseDTO;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.TaskSummary;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.TaskSummaryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Service
+public class TaskSummaryService {
+    private final TaskSummaryRepository repository;
+    private final TaskRepository taskRepository;
+
+    public TaskSummaryService(TaskSummaryRepository repository, TaskRepository taskRepository) {
+        this.repository = repository;
+        this.taskRepository = taskRepository;
+    }
+
+    // Exige a transação da escrita da tarefa: o resumo é confirmado ou desfeito junto com ela
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(Long userId, TaskSummaryDelta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        repository.increment(userId, delta.total(), delta.toDo(), delta.inProgress(), delta.done(),
+                delta.low(), delta.medium(), delta.high());
+    }
+
+    @Transactional(readOnly = true)
+    public TaskStatsResponseDTO getStats(Long userId) {
+        TaskSummary summary = repository.findById(userId).orElseGet(() -> new TaskSummary(userId));
+
+        // Vencidas e com vencimento hoje dependem do horário atual e não podem ser mantidas incrementalmente;
+        // são contadas com uma única varredura por intervalo no índice (user_id, is_sub_task, due_date)
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        ZonedDateTime startOfToday = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC);
+        TaskStatsResponseDTO.DueCounts dueCounts = taskRepository.countDueByUserId(userId, now, startOfToday, startOfToday.plusDays(1));
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        byStatus.put(TaskStatus.TO_DO, summary.getToDoCount());
+        byStatus.put(TaskStatus.IN_PROGRESS, summary.getInProgressCount());
+        byStatus.put(TaskStatus.DONE, summary.getDoneCount());
+
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        byPriority.put(Priority.LOW, summary.getLowCount());
+        byPriority.put(Priority.MEDIUM, summary.getMediumCount());
+        byPriority.put(Priority.HIGH, summary.getHighCount());
+
+        return new TaskStatsResponseDTO(summary.getTotal(), byStatus, byPriority, dueCounts.overdue(), dueCounts.dueToday());
+    }
+}
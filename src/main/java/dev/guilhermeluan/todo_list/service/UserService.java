@@ -1,6 +1,7 @@
 package dev.guilhermeluan.todo_list.service;
 
 import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
 import dev.guilhermeluan.todo_list.model.User;
 import dev.guilhermeluan.todo_list.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,9 +12,11 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserService implements UserDetailsService {
     private final UserRepository repository;
+    private final UserCache userCache;
 
-    public UserService(UserRepository repository) {
+    public UserService(UserRepository repository, UserCache userCache) {
         this.repository = repository;
+        this.userCache = userCache;
     }
 
     @Override
@@ -22,7 +25,7 @@ public class UserService implements UserDetailsService {
     }
 
     public User findUserByUsernameOrThrowNotFound(String username) {
-        User userFound = repository.findByLogin(username);
+        User userFound = userCache.get(username, repository::findByLogin);
 
         if (userFound == null) {
             throw new NotFoundException("User not found");
@@ -31,11 +34,11 @@ public class UserService implements UserDetailsService {
     }
 
     public User findUserByIdOrThrowNotFound(Long id) {
-        User userFound = repository.findById(id);
+        return repository.findById(id)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+    }
 
-        if (userFound == null) {
-            throw new NotFoundException("User not found");
-        }
-        return userFound;
+    public User getReferenceById(Long id) {
+        return repository.getReferenceById(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+create table user (
+    role tinyint,
+    id bigint not null auto_increment,
+    login varchar(255),
+    password varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table task (
+    is_sub_task bit not null,
+    due_date datetime(6),
+    id bigint not null auto_increment,
+    parent_task_id bigint,
+    user_id bigint not null,
+    description varchar(255),
+    title varchar(255) not null,
+    priority enum ('HIGH','LOW','MEDIUM'),
+    status enum ('DONE','IN_PROGRESS','TO_DO'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table task
+    add constraint FKqxs9fnf0nvg4pou1gng0jtom4
+    foreign key (parent_task_id)
+    references task (id);
+
+alter table task
+    add constraint FK2hsytmxysatfvt0p1992cw449
+    foreign key (user_id)
+    references user (id);
@@ -0,0 +1,6 @@
+-- Cada índice cobre o filtro fixo de GET /v1/tasks (user_id, is_sub_task),
+-- o filtro opcional e termina em id para servir a ordenação/desempate sem filesort
+create index idx_task_user_top_level on task (user_id, is_sub_task, id);
+create index idx_task_user_status on task (user_id, is_sub_task, status, id);
+create index idx_task_user_priority on task (user_id, is_sub_task, priority, id);
+create index idx_task_user_due_date on task (user_id, is_sub_task, due_date, id);
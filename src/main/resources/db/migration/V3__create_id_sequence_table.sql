@@ -0,0 +1,10 @@
+create table id_sequence (
+    next_val bigint,
+    sequence_name varchar(255) not null,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+-- O otimizador pooled do Hibernate usa o valor lido como topo do bloco (next_val - 49 .. next_val),
+-- então cada contador começa 50 acima do maior id já existente
+insert into id_sequence (sequence_name, next_val) select 'task', coalesce(max(id), 0) + 50 from task;
+insert into id_sequence (sequence_name, next_val) select 'user', coalesce(max(id), 0) + 50 from user;
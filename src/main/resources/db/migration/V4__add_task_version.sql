@@ -0,0 +1,2 @@
+-- Coluna de controle de concorrência otimista (@Version) e base do ETag das tarefas
+alter table task add column version bigint not null default 0;
@@ -0,0 +1,13 @@
+-- Contadores de progresso das subtarefas mantidos na tarefa principal
+alter table task add column subtask_total int not null default 0;
+alter table task add column subtask_done int not null default 0;
+
+update task p
+    join (select parent_task_id,
+                 count(*) as total,
+                 sum(case when status = 'DONE' then 1 else 0 end) as done
+          from task
+          where parent_task_id is not null
+          group by parent_task_id) s on s.parent_task_id = p.id
+set p.subtask_total = s.total,
+    p.subtask_done = s.done;
@@ -0,0 +1,30 @@
+-- Contagens por usuário das tarefas principais, mantidas incrementalmente na mesma transação das escritas
+create table task_summary (
+    user_id bigint not null,
+    total bigint not null default 0,
+    to_do_count bigint not null default 0,
+    in_progress_count bigint not null default 0,
+    done_count bigint not null default 0,
+    low_count bigint not null default 0,
+    medium_count bigint not null default 0,
+    high_count bigint not null default 0,
+    primary key (user_id)
+) engine=InnoDB;
+
+alter table task_summary
+    add constraint fk_task_summary_user
+    foreign key (user_id)
+    references user (id);
+
+insert into task_summary (user_id, total, to_do_count, in_progress_count, done_count, low_count, medium_count, high_count)
+select user_id,
+       count(*),
+       sum(case when status = 'TO_DO' then 1 else 0 end),
+       sum(case when status = 'IN_PROGRESS' then 1 else 0 end),
+       sum(case when status = 'DONE' then 1 else 0 end),
+       sum(case when priority = 'LOW' then 1 else 0 end),
+       sum(case when priority = 'MEDIUM' then 1 else 0 end),
+       sum(case when priority = 'HIGH' then 1 else 0 end)
+from task
+where is_sub_task = 0
+group by user_id;
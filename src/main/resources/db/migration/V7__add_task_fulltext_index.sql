@@ -0,0 +1,2 @@
+-- Índice de texto completo usado pelo parâmetro q de GET /v1/tasks (MATCH ... AGAINST)
+alter table task add fulltext index ft_task_title_description (title, description);
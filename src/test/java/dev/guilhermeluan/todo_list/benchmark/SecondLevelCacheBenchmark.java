@@ -0,0 +1,196 @@
+package dev.guilhermeluan.todo_list.benchmark;
+
+import dev.guilhermeluan.todo_list.TodoListApplication;
+import dev.guilhermeluan.todo_list.dto.TaskPatchRequestDTO;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.UserRepository;
+import dev.guilhermeluan.todo_list.service.TaskService;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Carga mista (90% leituras de usuário/tarefa/subtarefas, 10% escritas) com e sem o cache de segundo nível. As escritas
+// se dividem entre renomear a tarefa, mudar o status de uma subtarefa, criar e excluir subtarefas; as três últimas
+// também atualizam os contadores da tarefa principal. Os contadores "statements" e "operations" dão o total de
+// comandos SQL enviados ao banco e de operações executadas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+    private static final int USERS = 50;
+    private static final int TASKS_PER_USER = 20;
+    private static final int SUBTASKS_PER_TASK = 3;
+    private static final int WRITE_PERCENTAGE = 10;
+
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private UserRepository userRepository;
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+    private Statistics statistics;
+    private final List<User> users = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<SubtaskRef> subTasks = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final TaskUtils taskUtils = new TaskUtils();
+
+    private record SubtaskRef(Long id, Long userId) {
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            operations = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run("--cache.hibernate.enabled=" + secondLevelCache,
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--spring.jpa.show-sql=false");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        userRepository = context.getBean(UserRepository.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        taskService = context.getBean(TaskService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        seed();
+    }
+
+    private void seed() {
+        EntityManager entityManager = context.getBean(EntityManager.class);
+
+        for (int u = 0; u < USERS; u++) {
+            String login = "benchmark-" + u;
+            transactionTemplate.executeWithoutResult(status -> {
+                User user = new User(login, "password", UserRole.USER);
+                entityManager.persist(user);
+                users.add(user);
+                for (int i = 0; i < TASKS_PER_USER; i++) {
+                    Task parent = taskUtils.newTaskToSave();
+                    parent.setUser(user);
+                    parent.setSubtaskTotal(SUBTASKS_PER_TASK);
+                    entityManager.persist(parent);
+                    tasks.add(parent);
+
+                    for (int j = 0; j < SUBTASKS_PER_TASK; j++) {
+                        Task subTask = taskUtils.newTaskToSave();
+                        subTask.setUser(user);
+                        subTask.setIsSubTask(true);
+                        subTask.setParentTask(parent);
+                        entityManager.persist(subTask);
+                        subTasks.add(new SubtaskRef(subTask.getId(), user.getId()));
+                    }
+                }
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object mixedReadWrite(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        Object result = random.nextInt(100) < WRITE_PERCENTAGE ? write() : read();
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        counter.operations++;
+        return result;
+    }
+
+    // Como no fluxo de uma requisição: usuário pelo login e pelo id, depois a tarefa com as subtarefas
+    private Object read() {
+        Task target = tasks.get(random.nextInt(tasks.size()));
+        User owner = users.get(random.nextInt(users.size()));
+        return transactionTemplate.execute(status -> {
+            userRepository.findByLogin(owner.getUsername());
+            userRepository.findById(owner.getId());
+            Task task = taskRepository.findById(target.getId()).orElseThrow();
+            return task.getSubTasks().size();
+        });
+    }
+
+    private Object write() {
+        return switch (random.nextInt(4)) {
+            case 0 -> renameTask();
+            case 1 -> changeSubtaskStatus();
+            case 2 -> createSubtask();
+            default -> deleteSubtask();
+        };
+    }
+
+    private Object renameTask() {
+        Task target = tasks.get(random.nextInt(tasks.size()));
+        var patch = new TaskPatchRequestDTO();
+        patch.setTitle(Optional.of("Renamed " + random.nextInt()));
+        return taskService.patch(target.getId(), patch, target.getUser().getId(), null);
+    }
+
+    private Object changeSubtaskStatus() {
+        SubtaskRef target = subTasks.get(random.nextInt(subTasks.size()));
+        TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+        return taskService.updateStatus(status, target.id(), target.userId(), null);
+    }
+
+    private Object createSubtask() {
+        Task parent = tasks.get(random.nextInt(tasks.size()));
+        Task subTask = taskUtils.newTaskToSave();
+        subTask.setUser(parent.getUser());
+        Task saved = taskService.createSubTask(parent.getId(), subTask, parent.getUser().getId());
+        subTasks.add(new SubtaskRef(saved.getId(), parent.getUser().getId()));
+        return saved;
+    }
+
+    // Troca o alvo com o último da lista para remover em tempo constante
+    private Object deleteSubtask() {
+        int index = random.nextInt(subTasks.size());
+        SubtaskRef target = subTasks.get(index);
+        subTasks.set(index, subTasks.getLast());
+        subTasks.removeLast();
+        taskService.delete(target.id(), target.userId(), null);
+        return target;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecondLevelCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
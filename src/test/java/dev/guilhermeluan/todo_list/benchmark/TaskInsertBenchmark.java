@@ -0,0 +1,97 @@
+package dev.guilhermeluan.todo_list.benchmark;
+
+import dev.guilhermeluan.todo_list.TodoListApplication;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+    private static final int SUBTASKS_PER_PARENT = 99;
+
+    @Param({"identity", "pooled"})
+    private String idGeneration;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long userId;
+    private final TaskUtils taskUtils = new TaskUtils();
+
+    @Setup
+    public void setUp() {
+        // O mapeamento XML sobrescreve o gerador de ids das entidades com o IDENTITY usado antes
+        String mappingResources = idGeneration.equals("identity") ? "benchmark/identity-orm.xml" : "";
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.mapping-resources=" + mappingResources);
+        entityManager = context.getBean(EntityManager.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        userId = transactionTemplate.execute(status -> {
+            User user = new User("benchmark", "password", UserRole.USER);
+            entityManager.persist(user);
+            return user.getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class JdbcStatements {
+        public long statements;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SUBTASKS_PER_PARENT + 1)
+    public void insertParentWithSubtasks(JdbcStatements jdbcStatements) {
+        long before = statistics.getPrepareStatementCount();
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = entityManager.getReference(User.class, userId);
+            Task parent = taskUtils.newTaskToSave();
+            parent.setUser(user);
+            entityManager.persist(parent);
+
+            for (int i = 0; i < SUBTASKS_PER_PARENT; i++) {
+                Task subTask = taskUtils.newTaskToSave();
+                subTask.setUser(user);
+                subTask.setIsSubTask(true);
+                subTask.setParentTask(parent);
+                entityManager.persist(subTask);
+            }
+        });
+        jdbcStatements.statements += statistics.getPrepareStatementCount() - before;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,130 @@
+package dev.guilhermeluan.todo_list.benchmark;
+
+import dev.guilhermeluan.todo_list.TodoListApplication;
+import dev.guilhermeluan.todo_list.dto.TaskFilter;
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskMapper;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.TaskSpecification;
+import dev.guilhermeluan.todo_list.service.TaskService;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListingBenchmark {
+    private static final int PARENT_TASKS = 2_000;
+    private static final int SUBTASKS_PER_PARENT = 5;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private TaskMapper taskMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private Long userId;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.properties.hibernate.generate_statistics=false");
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        taskMapper = context.getBean(TaskMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        userId = seed();
+        pageable = PageRequest.of(3, pageSize, Sort.by("id"));
+    }
+
+    private Long seed() {
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TaskUtils taskUtils = new TaskUtils();
+
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Long id = transactionTemplate.execute(status -> {
+            User user = new User("benchmark", "password", UserRole.USER);
+            entityManager.persist(user);
+            return user.getId();
+        });
+
+        for (int batch = 0; batch < PARENT_TASKS / 100; batch++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                User user = entityManager.getReference(User.class, id);
+                for (int i = 0; i < 100; i++) {
+                    Task parent = taskUtils.newTaskToSave();
+                    parent.setUser(user);
+                    entityManager.persist(parent);
+
+                    for (int j = 0; j < SUBTASKS_PER_PARENT; j++) {
+                        Task subTask = taskUtils.newTaskToSave();
+                        subTask.setUser(user);
+                        subTask.setIsSubTask(true);
+                        subTask.setParentTask(parent);
+                        entityManager.persist(subTask);
+                    }
+                }
+            });
+        }
+        return id;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Linha de base: entidades paginadas, subtarefas numa segunda consulta e mapeamento para o DTO
+    @Benchmark
+    public Page<TaskGetResponseDTO> entityListing() {
+        return readOnlyTransaction.execute(status -> {
+            Page<Task> page = taskRepository.findAll(TaskSpecification.buildFilterSpec(userId, TaskFilter.NONE), pageable);
+            entityManager.createQuery("select distinct t from Task t left join fetch t.subTasks where t.id in :ids", Task.class)
+                    .setParameter("ids", page.map(Task::getId).getContent())
+                    .getResultList();
+            return page.map(taskMapper::toTaskResponseDTO);
+        });
+    }
+
+    @Benchmark
+    public Page<TaskGetResponseDTO> projectedListing() {
+        return taskService.findAllProjected(userId, TaskFilter.NONE, pageable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskListingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
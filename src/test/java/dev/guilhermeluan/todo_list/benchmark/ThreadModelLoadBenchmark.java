@@ -0,0 +1,128 @@
+package dev.guilhermeluan.todo_list.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+// Carga HTTP contra a aplicação rodando com MySQL local. Compare os dois modelos subindo a aplicação com
+// --spring.threads.virtual.enabled=true e depois false, e rodando em cada uma:
+//   java -cp target/test-classes:<classpath> dev.guilhermeluan.todo_list.benchmark.ThreadModelLoadBenchmark \
+//       http://localhost:8080 5000 60
+// Argumentos: URL base, conexões simultâneas e duração em segundos
+public class ThreadModelLoadBenchmark {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = authenticate(client, baseUrl);
+        HttpRequest listTasks = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/tasks?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        LongAdder ok = new LongAdder();
+        LongAdder unavailable = new LongAdder();
+        LongAdder otherErrors = new LongAdder();
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(connections);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    try {
+                        while (System.nanoTime() < deadline) {
+                            long start = System.nanoTime();
+                            int status = send(client, listTasks);
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = System.nanoTime() - start;
+                            if (status == 200) {
+                                ok.increment();
+                            } else if (status == 503) {
+                                unavailable.increment();
+                            } else {
+                                otherErrors.increment();
+                            }
+                        }
+                    } finally {
+                        latencies.add(Arrays.copyOf(samples, count));
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("connections=%d duration=%.0fs%n", connections, seconds);
+        System.out.printf("throughput=%.1f req/s ok=%d 503=%d other=%d%n",
+                all.length / seconds, ok.sum(), unavailable.sum(), otherErrors.sum());
+        System.out.printf("latency ms p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    // Falhas de conexão contam como status 0, para que a rodada siga medindo
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static String authenticate(HttpClient client, String baseUrl) throws Exception {
+        String login = "load-" + UUID.randomUUID();
+        String password = "load-test-password";
+        post(client, baseUrl + "/auth/register", Map.of("login", login, "password", password, "role", "USER"));
+        String body = post(client, baseUrl + "/auth/login", Map.of("login", login, "password", password));
+        return MAPPER.readTree(body).get("token").asText();
+    }
+
+    private static String post(HttpClient client, String url, Map<String, String> payload) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(payload)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("POST " + url + " retornou " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package dev.guilhermeluan.todo_list.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import dev.guilhermeluan.todo_list.infra.security.AuthenticatedUser;
+import dev.guilhermeluan.todo_list.infra.security.JwtProperties;
+import dev.guilhermeluan.todo_list.infra.security.TokenService;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+    private static final String SECRET = "default";
+
+    private TokenService cachedTokenService;
+    private TokenService uncachedTokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var keys = Map.of("k1", SECRET);
+        cachedTokenService = new TokenService(new JwtProperties("auth0", "k1", keys, 10_000));
+        uncachedTokenService = new TokenService(new JwtProperties("auth0", "k1", keys, 0));
+        token = cachedTokenService.generateToken(new User(1L, "benchmark", "password", UserRole.USER));
+    }
+
+    @Benchmark
+    public String rebuildVerifierPerCall() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer("auth0")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public AuthenticatedUser prebuiltVerifier() {
+        return uncachedTokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser prebuiltVerifierWithCache() {
+        return cachedTokenService.validateToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
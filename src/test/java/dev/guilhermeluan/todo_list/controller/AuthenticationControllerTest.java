@@ -4,9 +4,13 @@ import dev.guilhermeluan.todo_list.dto.AuthenticationDTO;
 import dev.guilhermeluan.todo_list.dto.LoginResponseDTO;
 import dev.guilhermeluan.todo_list.dto.RegisterDTO;
 import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.exceptions.TooManyRequestsException;
+import dev.guilhermeluan.todo_list.infra.persistence.HibernateCacheEndpoint;
 import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.TaskSummaryRepository;
 import dev.guilhermeluan.todo_list.repository.UserRepository;
 import dev.guilhermeluan.todo_list.service.AuthenticationService;
+import dev.guilhermeluan.todo_list.service.TaskImportService;
 import dev.guilhermeluan.todo_list.utils.FileUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -41,6 +45,12 @@ class AuthenticationControllerTest {
     private TaskRepository taskRepository;
     @MockitoBean
     private UserRepository userRepository;
+    @MockitoBean
+    private TaskSummaryRepository taskSummaryRepository;
+    @MockitoBean
+    private TaskImportService taskImportService;
+    @MockitoBean
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
 
     @Test
     @DisplayName("POST /auth/login returns JWT token when credentials are valid")
@@ -77,6 +87,22 @@ class AuthenticationControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /auth/login returns 429 when the password hashing pool is saturated")
+    void login_Returns429_WhenPasswordHashingIsSaturated() throws Exception {
+        BDDMockito.when(authenticationService.authenticate(ArgumentMatchers.any(AuthenticationDTO.class)))
+                .thenThrow(new TooManyRequestsException("Muitas autenticações simultâneas. Tente novamente em instantes."));
+
+        var request = fileUtils.readResourceFile("auth/post-request-login-200.json");
+
+        mockMvc.perform(post(BASE_URL + "/login")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isTooManyRequests());
+    }
+
     @Test
     @DisplayName("POST /auth/register creates user when data is valid")
     void register_CreatesUser_WhenDataIsValid() throws Exception {
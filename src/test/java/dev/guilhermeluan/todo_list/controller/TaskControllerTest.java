@@ -1,21 +1,45 @@
 package dev.guilhermeluan.todo_list.controller;
 
+import dev.guilhermeluan.todo_list.dto.TaskBatchResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkDeleteResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkStatusResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskCursorPageResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskLookupResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPatchRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskStatsResponseDTO;
 import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
 import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.exceptions.PayloadTooLargeException;
+import dev.guilhermeluan.todo_list.exceptions.PreconditionFailedException;
+import dev.guilhermeluan.todo_list.exceptions.TooManyRequestsException;
+import dev.guilhermeluan.todo_list.infra.persistence.HibernateCacheEndpoint;
+import dev.guilhermeluan.todo_list.infra.security.AuthenticatedUser;
 import dev.guilhermeluan.todo_list.infra.security.TokenService;
+import dev.guilhermeluan.todo_list.model.Priority;
 import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskMapper;
 import dev.guilhermeluan.todo_list.model.TaskStatus;
 import dev.guilhermeluan.todo_list.model.User;
 import dev.guilhermeluan.todo_list.model.UserRole;
 import dev.guilhermeluan.todo_list.repository.UserRepository;
+import dev.guilhermeluan.todo_list.service.TaskBatchService;
+import dev.guilhermeluan.todo_list.service.TaskETag;
+import dev.guilhermeluan.todo_list.service.TaskFileFormat;
+import dev.guilhermeluan.todo_list.service.TaskExportService;
+import dev.guilhermeluan.todo_list.service.TaskImportJob;
+import dev.guilhermeluan.todo_list.service.TaskImportService;
 import dev.guilhermeluan.todo_list.service.TaskService;
+import dev.guilhermeluan.todo_list.service.TaskSummaryService;
 import dev.guilhermeluan.todo_list.service.UserService;
 import dev.guilhermeluan.todo_list.utils.FileUtils;
 import dev.guilhermeluan.todo_list.utils.TaskUtils;
 import dev.guilhermeluan.todo_list.utils.UserUtils;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,12 +49,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLTransientConnectionException;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -50,6 +81,8 @@ class TaskControllerTest {
     @Autowired
     private TaskUtils taskUtils;
     @Autowired
+    private TaskMapper taskMapper;
+    @Autowired
     private FileUtils fileUtils;
     @Autowired
     private UserUtils userUtils;
@@ -57,6 +90,16 @@ class TaskControllerTest {
     private UserRepository userRepository;
     @MockitoBean
     private UserService userService;
+    @MockitoBean
+    private TaskBatchService taskBatchService;
+    @MockitoBean
+    private TaskSummaryService taskSummaryService;
+    @MockitoBean
+    private TaskExportService taskExportService;
+    @MockitoBean
+    private TaskImportService taskImportService;
+    @MockitoBean
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
 
     private User testUser;
 
@@ -68,15 +111,9 @@ class TaskControllerTest {
         testUser = userUtils.newUserTest();
 
         BDDMockito.when(tokenService.validateToken(ArgumentMatchers.anyString()))
-                .thenReturn(testUser.getUsername());
+                .thenReturn(AuthenticatedUser.from(testUser));
 
-        BDDMockito.when(userRepository.findByLogin(testUser.getUsername()))
-                .thenReturn(testUser);
-
-        BDDMockito.when(userService.findUserByUsernameOrThrowNotFound(testUser.getUsername()))
-                .thenReturn(testUser);
-
-        BDDMockito.when(userService.findUserByIdOrThrowNotFound(ArgumentMatchers.anyLong()))
+        BDDMockito.when(userService.getReferenceById(ArgumentMatchers.anyLong()))
                 .thenReturn(testUser);
     }
 
@@ -105,6 +142,52 @@ class TaskControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    @DisplayName("POST /v1/tasks/batch creates the tasks and returns one result per item")
+    void createBatch_ReturnsItemResults_WhenIsSuccessful() throws Exception {
+        var response = new TaskBatchResponseDTO(2, 0, List.of(
+                new TaskBatchResponseDTO.ItemResult(0, 10L, List.of(11L), List.of()),
+                new TaskBatchResponseDTO.ItemResult(1, 12L, List.of(), List.of())));
+        BDDMockito.when(taskBatchService.create(ArgumentMatchers.anyList(), ArgumentMatchers.eq(testUser.getId()), ArgumentMatchers.eq(false)))
+                .thenReturn(response);
+
+        var request = fileUtils.readResourceFile("task/post-request-batch-201.json");
+
+        mockMvc.perform(post(URL + "/batch")
+                        .with(bearerToken())
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[0].id").value(10))
+                .andExpect(jsonPath("$.results[0].subtaskIds[0]").value(11))
+                .andExpect(jsonPath("$.results[1].errors").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /v1/tasks/batch returns bad request when no item was created")
+    void createBatch_ReturnsBadRequest_WhenNoItemWasCreated() throws Exception {
+        var response = new TaskBatchResponseDTO(0, 1, List.of(
+                new TaskBatchResponseDTO.ItemResult(0, null, List.of(), List.of()),
+                new TaskBatchResponseDTO.ItemResult(1, null, List.of(), List.of("title: O campo 'title' é obrigatório."))));
+        BDDMockito.when(taskBatchService.create(ArgumentMatchers.anyList(), ArgumentMatchers.eq(testUser.getId()), ArgumentMatchers.eq(false)))
+                .thenReturn(response);
+
+        var request = fileUtils.readResourceFile("task/post-request-batch-201.json");
+
+        mockMvc.perform(post(URL + "/batch")
+                        .with(bearerToken())
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].errors[0]").value("title: O campo 'title' é obrigatório."));
+    }
+
     @Test
     @DisplayName("POST /v1/tasks/1/subtasks creates a subtask when is successful")
     void createSubTask_CreatesSubTasks_WhenIsSuccessful() throws Exception {
@@ -171,15 +254,13 @@ class TaskControllerTest {
     @DisplayName("GET  /v1/tasks returns list of all tasks when argument is null")
     void findAll_ReturnsListOfAllAnime_WhenArgumentIsNull() throws Exception {
 
-        Page<Task> tasksPage = new PageImpl<>(
-                List.of(taskUtils.newSavedTask()),
+        Page<TaskGetResponseDTO> tasksPage = new PageImpl<>(
+                List.of(taskMapper.toTaskResponseDTO(taskUtils.newSavedTask())),
                 PageRequest.of(0, 10),
                 1
         );
 
-        BDDMockito.when(taskService.findAll(
-                ArgumentMatchers.any(),
-                ArgumentMatchers.any(),
+        BDDMockito.when(taskService.findAllProjected(
                 ArgumentMatchers.any(),
                 ArgumentMatchers.any(), ArgumentMatchers.any(Pageable.class))).thenReturn(tasksPage);
 
@@ -203,17 +284,15 @@ class TaskControllerTest {
         Task task = taskUtils.newSavedTask();
         task.setStatus(TaskStatus.TO_DO);
 
-        Page<Task> tasksPage = new PageImpl<>(
-                List.of(task),
+        Page<TaskGetResponseDTO> tasksPage = new PageImpl<>(
+                List.of(taskMapper.toTaskResponseDTO(task)),
                 PageRequest.of(0, 5),
                 1
         );
 
-        BDDMockito.when(taskService.findAll(
-                        ArgumentMatchers.any(),
-                        ArgumentMatchers.eq(TaskStatus.TO_DO),
-                        ArgumentMatchers.any(),
+        BDDMockito.when(taskService.findAllProjected(
                         ArgumentMatchers.any(),
+                        ArgumentMatchers.argThat(filter -> filter.status() == TaskStatus.TO_DO),
                         ArgumentMatchers.any(Pageable.class)))
                 .thenReturn(tasksPage);
 
@@ -233,6 +312,282 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.size").value(5));
     }
 
+    @Test
+    @DisplayName("GET /v1/tasks?q= sorts by descending relevance when no sort is sent")
+    void findAll_SortsByRelevance_WhenQIsProvidedWithoutSort() throws Exception {
+        BDDMockito.when(taskService.findAllProjected(
+                        ArgumentMatchers.eq(testUser.getId()),
+                        ArgumentMatchers.argThat(filter -> "deploy".equals(filter.q())),
+                        ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        mockMvc.perform(get(URL)
+                        .with(bearerToken())
+                        .param("q", "deploy"))
+                .andExpect(status().isOk());
+
+        BDDMockito.then(taskService).should().findAllProjected(
+                ArgumentMatchers.eq(testUser.getId()),
+                ArgumentMatchers.argThat(filter -> "deploy".equals(filter.q())),
+                ArgumentMatchers.argThat(pageable -> pageable.getSort().getOrderFor(TaskService.RELEVANCE_SORT) != null
+                        && pageable.getSort().getOrderFor(TaskService.RELEVANCE_SORT).isDescending()));
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks passes the due date range in UTC and the overdue flag to the service")
+    void findAll_PassesDueRangeInUtc_WhenDueFromAndDueToProvided() throws Exception {
+        BDDMockito.when(taskService.findAllProjected(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        mockMvc.perform(get(URL)
+                        .with(bearerToken())
+                        .param("dueFrom", "2030-01-01T00:00:00-03:00")
+                        .param("dueTo", "2030-01-08T00:00:00-03:00")
+                        .param("overdue", "false"))
+                .andExpect(status().isOk());
+
+        BDDMockito.then(taskService).should().findAllProjected(
+                ArgumentMatchers.eq(testUser.getId()),
+                ArgumentMatchers.argThat(filter -> filter.dueFrom().toString().equals("2030-01-01T03:00Z")
+                        && filter.dueTo().toString().equals("2030-01-08T03:00Z")
+                        && Boolean.FALSE.equals(filter.overdue())),
+                ArgumentMatchers.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks returns bad request when dueFrom is not before dueTo")
+    void findAll_ReturnsBadRequest_WhenDueRangeIsInvalid() throws Exception {
+        mockMvc.perform(get(URL)
+                        .with(bearerToken())
+                        .param("dueFrom", "2030-01-08T00:00:00Z")
+                        .param("dueTo", "2030-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        BDDMockito.then(taskService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks?cursor= returns a cursor page without total count")
+    void findAllByCursor_ReturnsCursorPage_WhenCursorParamIsPresent() throws Exception {
+        var task = taskMapper.toTaskResponseDTO(taskUtils.newSavedTask());
+        var response = new TaskCursorPageResponseDTO(List.of(task), 1, 1, true, "next-cursor");
+
+        BDDMockito.when(taskService.findAllByCursor(
+                        ArgumentMatchers.eq(testUser.getId()),
+                        ArgumentMatchers.any(),
+                        ArgumentMatchers.eq("dueDate"),
+                        ArgumentMatchers.eq(Sort.Direction.DESC),
+                        ArgumentMatchers.eq(""),
+                        ArgumentMatchers.eq(1)))
+                .thenReturn(response);
+
+        mockMvc.perform(get(URL)
+                        .with(bearerToken())
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .param("sort", "dueDate")
+                        .param("direction", "DESC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(task.id()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/tasks/status returns affected and rejected ids")
+    void updateStatusInBulk_ReturnsAffectedAndRejectedIds_WhenIsSuccessful() throws Exception {
+        var response = new TaskBulkStatusResponseDTO(2, List.of(1L, 2L), List.of(3L));
+        BDDMockito.when(taskBatchService.updateStatus(ArgumentMatchers.any(), ArgumentMatchers.eq(testUser.getId())))
+                .thenReturn(response);
+
+        var request = fileUtils.readResourceFile("task/patch-request-bulk-status-200.json");
+
+        mockMvc.perform(patch(URL + "/status")
+                        .with(bearerToken())
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2))
+                .andExpect(jsonPath("$.affectedIds[1]").value(2))
+                .andExpect(jsonPath("$.rejectedIds[0]").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks/stats returns the task counts of the authenticated user")
+    void stats_ReturnsTaskCounts_WhenIsSuccessful() throws Exception {
+        var stats = new TaskStatsResponseDTO(3,
+                Map.of(TaskStatus.TO_DO, 1L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.DONE, 2L),
+                Map.of(Priority.LOW, 0L, Priority.MEDIUM, 1L, Priority.HIGH, 2L),
+                1, 0);
+        BDDMockito.when(taskSummaryService.getStats(testUser.getId())).thenReturn(stats);
+
+        mockMvc.perform(get(URL + "/stats")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.DONE").value(2))
+                .andExpect(jsonPath("$.byPriority.HIGH").value(2))
+                .andExpect(jsonPath("$.overdue").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks/export streams the tasks as NDJSON attachment")
+    void export_StreamsTasksAsNdjson_WhenFormatIsNotSent() throws Exception {
+        BDDMockito.when(taskExportService.export(ArgumentMatchers.eq(testUser.getId()), ArgumentMatchers.eq(TaskFileFormat.NDJSON), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        mockMvc.perform(get(URL + "/export")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks/export returns bad request when the format is not supported")
+    void export_ReturnsBadRequest_WhenFormatIsNotSupported() throws Exception {
+        mockMvc.perform(get(URL + "/export")
+                        .param("format", "xml")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        BDDMockito.then(taskExportService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("POST /v1/tasks/import accepts the file and returns the report location")
+    void importTasks_ReturnsAcceptedWithLocation_WhenIsSuccessful() throws Exception {
+        var job = new TaskImportJob(testUser.getId(), TaskFileFormat.CSV, 100);
+        BDDMockito.when(taskImportService.start(ArgumentMatchers.eq(testUser.getId()), ArgumentMatchers.eq(TaskFileFormat.CSV), ArgumentMatchers.any()))
+                .thenReturn(job);
+
+        mockMvc.perform(post(URL + "/import")
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content("id,parentTaskId,title,description,dueDate,status,priority\n")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost" + URL + "/import/" + job.getId()))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.format").value("csv"));
+    }
+
+    @Test
+    @DisplayName("POST /v1/tasks/import returns too many requests when the import queue is full")
+    void importTasks_ReturnsTooManyRequests_WhenQueueIsFull() throws Exception {
+        BDDMockito.when(taskImportService.start(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenThrow(new TooManyRequestsException("Limite de importações simultâneas atingido. Tente novamente mais tarde."));
+
+        mockMvc.perform(post(URL + "/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Deploy application\"}\n")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("POST /v1/tasks/import returns payload too large when the file exceeds the size limit")
+    void importTasks_ReturnsPayloadTooLarge_WhenFileExceedsLimit() throws Exception {
+        BDDMockito.when(taskImportService.start(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenThrow(new PayloadTooLargeException("O arquivo de importação excede o limite de 10 bytes."));
+
+        mockMvc.perform(post(URL + "/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Deploy application\"}\n")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value("O arquivo de importação excede o limite de 10 bytes."));
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks/import/{importId} returns not found when the import does not exist")
+    void findImport_ReturnsNotFound_WhenImportDoesNotExist() throws Exception {
+        var importId = UUID.randomUUID();
+        BDDMockito.when(taskImportService.findJob(importId, testUser.getId()))
+                .thenThrow(new NotFoundException("Importação não encontrada com o id: " + importId));
+
+        mockMvc.perform(get(URL + "/import/" + importId)
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks/1 returns the task with its ETag")
+    void findById_ReturnsTaskWithETag_WhenIsSuccessful() throws Exception {
+        var task = new TaskGetResponseDTO(1L, "Deploy application", null, null, TaskStatus.TO_DO, Priority.HIGH, null, List.of(), 0, 0, 3L);
+        BDDMockito.when(taskService.findProjectedById(1L, testUser.getId())).thenReturn(task);
+
+        mockMvc.perform(get(URL + "/1")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", TaskETag.of(task)))
+                .andExpect(jsonPath("$.title").value("Deploy application"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks/1 returns not modified without body when If-None-Match matches the ETag")
+    void findById_ReturnsNotModified_WhenIfNoneMatchMatchesETag() throws Exception {
+        var task = new TaskGetResponseDTO(1L, "Deploy application", null, null, TaskStatus.TO_DO, Priority.HIGH, null, List.of(), 0, 0, 3L);
+        BDDMockito.when(taskService.findProjectedById(1L, testUser.getId())).thenReturn(task);
+
+        mockMvc.perform(get(URL + "/1")
+                        .with(bearerToken())
+                        .header("If-None-Match", TaskETag.of(task)))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /v1/tasks/1 returns service unavailable with Retry-After when the database gate is saturated")
+    void findById_ReturnsServiceUnavailable_WhenDatabaseGateTimesOut() throws Exception {
+        BDDMockito.when(taskService.findProjectedById(1L, testUser.getId()))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                        new SQLTransientConnectionException("Limite de acessos simultâneos ao banco atingido após 2000 ms.")));
+
+        mockMvc.perform(get(URL + "/1")
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/tasks/1/status returns precondition failed when If-Match does not match the current ETag")
+    void updateStatus_ReturnsPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        var staleETag = "\"stale\"";
+        BDDMockito.when(taskService.updateStatus(TaskStatus.IN_PROGRESS, 1L, testUser.getId(), staleETag))
+                .thenThrow(new PreconditionFailedException("A tarefa foi modificada por outra requisição. Obtenha a versão atual e tente novamente."));
+
+        var request = fileUtils.readResourceFile("task/patch-request-status-200.json");
+
+        mockMvc.perform(patch(URL + "/1/status")
+                        .with(bearerToken())
+                        .header("If-Match", staleETag)
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("PATCH /v1/tasks/1/status updates task status when is successful")
     void updateStatus_UpdatesTaskStatus_WhenIsSuccessful() throws Exception {
@@ -240,7 +595,7 @@ class TaskControllerTest {
         var taskToUpdate = taskUtils.newSavedTask();
         taskToUpdate.setStatus(TaskStatus.IN_PROGRESS);
 
-        BDDMockito.when(taskService.updateStatus(ArgumentMatchers.eq(TaskStatus.IN_PROGRESS), ArgumentMatchers.eq(taskId), ArgumentMatchers.anyLong()))
+        BDDMockito.when(taskService.updateStatus(ArgumentMatchers.eq(TaskStatus.IN_PROGRESS), ArgumentMatchers.eq(taskId), ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
                 .thenReturn(taskToUpdate);
 
         var request = fileUtils.readResourceFile("task/patch-request-status-200.json");
@@ -259,7 +614,7 @@ class TaskControllerTest {
     void updateStatus_ThrowsNotFoundException_WhenTaskDoesNotExist() throws Exception {
         var nonExistentTaskId = 99L;
 
-        BDDMockito.when(taskService.updateStatus(ArgumentMatchers.any(TaskStatus.class), ArgumentMatchers.eq(nonExistentTaskId), ArgumentMatchers.anyLong()))
+        BDDMockito.when(taskService.updateStatus(ArgumentMatchers.any(TaskStatus.class), ArgumentMatchers.eq(nonExistentTaskId), ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
                 .thenThrow(new NotFoundException("Tarefa não encontrada com o id: " + nonExistentTaskId));
 
         var request = fileUtils.readResourceFile("task/patch-request-status-200.json");
@@ -278,7 +633,7 @@ class TaskControllerTest {
     void updateStatus_ThrowsBadRequestException_WhenParentTaskHasIncompleteSubTasks() throws Exception {
         var taskId = 1L;
 
-        BDDMockito.when(taskService.updateStatus(ArgumentMatchers.eq(TaskStatus.DONE), ArgumentMatchers.eq(taskId), ArgumentMatchers.anyLong()))
+        BDDMockito.when(taskService.updateStatus(ArgumentMatchers.eq(TaskStatus.DONE), ArgumentMatchers.eq(taskId), ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
                 .thenThrow(new BadRequestException("Conclua todas as subtarefas pendentes antes de finalizar a tarefa principal."));
 
         var request = fileUtils.readResourceFile("task/patch-request-status-done-200.json");
@@ -297,7 +652,7 @@ class TaskControllerTest {
     void update_UpdatesTask_WhenIsSuccessful() throws Exception {
         var taskId = 1L;
 
-        BDDMockito.doNothing().when(taskService).update(ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+        BDDMockito.doNothing().when(taskService).update(ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.any());
 
         var request = fileUtils.readResourceFile("task/put-request-task-200.json");
 
@@ -316,7 +671,7 @@ class TaskControllerTest {
         var nonExistentTaskId = 99L;
 
         BDDMockito.doThrow(new NotFoundException("Tarefa não encontrada com o id: " + nonExistentTaskId))
-                .when(taskService).update(ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+                .when(taskService).update(ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.any());
 
         var request = fileUtils.readResourceFile("task/put-request-task-200.json");
 
@@ -329,13 +684,109 @@ class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("PATCH /v1/tasks/1 applies only the fields sent in the merge patch")
+    void patch_AppliesOnlySentFields_WhenIsSuccessful() throws Exception {
+        var taskId = tasks.getFirst().getId();
+        var request = fileUtils.readResourceFile("task/patch-request-merge-patch-204.json");
+
+        mockMvc.perform(patch(URL + "/" + taskId)
+                        .with(bearerToken())
+                        .content(request)
+                        .contentType("application/merge-patch+json"))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        var captor = ArgumentCaptor.forClass(TaskPatchRequestDTO.class);
+        BDDMockito.verify(taskService).patch(ArgumentMatchers.eq(taskId), captor.capture(), ArgumentMatchers.eq(testUser.getId()), ArgumentMatchers.isNull());
+        Assertions.assertThat(captor.getValue().getTitle()).isNull();
+        Assertions.assertThat(captor.getValue().getPriority()).contains(Priority.HIGH);
+        Assertions.assertThat(captor.getValue().getDueDate()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("PATCH /v1/tasks/1 returns bad request when the title is cleared")
+    void patch_ReturnsBadRequest_WhenTitleIsNull() throws Exception {
+        var taskId = tasks.getFirst().getId();
+
+        mockMvc.perform(patch(URL + "/" + taskId)
+                        .with(bearerToken())
+                        .content("{\"title\": null}")
+                        .contentType("application/merge-patch+json"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        BDDMockito.verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("DELETE /v1/tasks returns deleted and rejected ids")
+    void deleteInBulk_ReturnsDeletedAndRejectedIds_WhenIsSuccessful() throws Exception {
+        var response = new TaskBulkDeleteResponseDTO(2, List.of(1L, 2L), List.of(3L));
+        BDDMockito.when(taskBatchService.delete(ArgumentMatchers.any(), ArgumentMatchers.eq(testUser.getId())))
+                .thenReturn(response);
+
+        var request = fileUtils.readResourceFile("task/delete-request-bulk-200.json");
+
+        mockMvc.perform(delete(URL)
+                        .with(bearerToken())
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.deletedIds[1]").value(2))
+                .andExpect(jsonPath("$.rejectedIds[0]").value(3));
+    }
+
+    @Test
+    @DisplayName("POST /v1/tasks/lookup returns the found tasks and the missing and forbidden ids")
+    void lookup_ReturnsTasksAndMissingAndForbiddenIds_WhenIsSuccessful() throws Exception {
+        var task = new TaskGetResponseDTO(3L, "Review pull request", null, null, TaskStatus.IN_PROGRESS, Priority.HIGH,
+                null, List.of(), 0, 0, 0L);
+        var response = new TaskLookupResponseDTO(List.of(task), List.of(42L), List.of(7L));
+        BDDMockito.when(taskBatchService.lookup(ArgumentMatchers.any(), ArgumentMatchers.eq(testUser.getId())))
+                .thenReturn(response);
+
+        var request = fileUtils.readResourceFile("task/post-request-lookup-200.json");
+
+        mockMvc.perform(post(URL + "/lookup")
+                        .with(bearerToken())
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(3))
+                .andExpect(jsonPath("$.tasks[0].title").value("Review pull request"))
+                .andExpect(jsonPath("$.missingIds[0]").value(42))
+                .andExpect(jsonPath("$.forbiddenIds[0]").value(7));
+    }
+
+    @Test
+    @DisplayName("DELETE /v1/tasks/1 resolves the user from the database when the token has no identity claims")
+    void delete_ResolvesUserFromDatabase_WhenTokenHasNoIdentityClaims() throws Exception {
+        var taskId = tasks.getFirst().getId();
+
+        BDDMockito.when(tokenService.validateToken(ArgumentMatchers.anyString()))
+                .thenReturn(new AuthenticatedUser(null, testUser.getUsername(), null));
+        BDDMockito.when(userRepository.findByLogin(testUser.getUsername()))
+                .thenReturn(testUser);
+
+        mockMvc.perform(delete(URL + "/" + taskId)
+                        .with(bearerToken()))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        BDDMockito.verify(taskService).delete(taskId, testUser.getId(), null);
+    }
+
     @Test
     @DisplayName("DELETE /v1/tasks/1 deletes task when is successful")
     void delete_DeletesTask_WhenIsSuccessful() throws Exception {
         var taskId = tasks.getFirst().getId();
 
 
-        BDDMockito.doNothing().when(taskService).delete(taskId, testUser.getId());
+        BDDMockito.doNothing().when(taskService).delete(taskId, testUser.getId(), null);
 
         mockMvc.perform(delete(URL + "/" + taskId)
                         .with(bearerToken()))
@@ -349,7 +800,7 @@ class TaskControllerTest {
         var nonExistentTaskId = 99L;
 
         BDDMockito.doThrow(new NotFoundException("Tarefa não encontrada com o id: " + nonExistentTaskId))
-                .when(taskService).delete(nonExistentTaskId, testUser.getId());
+                .when(taskService).delete(nonExistentTaskId, testUser.getId(), null);
 
         mockMvc.perform(delete(URL + "/" + nonExistentTaskId)
                         .with(bearerToken()))
@@ -0,0 +1,152 @@
+package dev.guilhermeluan.todo_list.infra.cache;
+
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TaskCacheTest {
+    private static final Long USER_ID = 1L;
+    private static final Long TASK_ID = 10L;
+
+    private TaskCache taskCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        taskCache = new TaskCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private TaskGetResponseDTO task(String title) {
+        return new TaskGetResponseDTO(TASK_ID, title, null, null, TaskStatus.TO_DO, Priority.HIGH, null, List.of(), 0, 0, 0L);
+    }
+
+    private TaskGetResponseDTO load(String title) {
+        loads.incrementAndGet();
+        return task(title);
+    }
+
+    @Test
+    @DisplayName("get loads the task only once per user and task id")
+    void get_LoadsTaskOnce_WhenRequestedRepeatedly() {
+        taskCache.get(USER_ID, TASK_ID, () -> load("v1"));
+        var cached = taskCache.get(USER_ID, TASK_ID, () -> load("v2"));
+        taskCache.get(2L, TASK_ID, () -> load("other user"));
+
+        Assertions.assertThat(cached.title()).isEqualTo("v1");
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+        Assertions.assertThat(taskCache.stats().hitCount()).isEqualTo(1);
+        Assertions.assertThat(taskCache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("get does not cache the exception thrown by the loader")
+    void get_DoesNotCacheExceptions_WhenLoaderThrows() {
+        Assertions.assertThatThrownBy(() -> taskCache.get(USER_ID, TASK_ID, () -> {
+            loads.incrementAndGet();
+            throw new NotFoundException("Tarefa não encontrada com o id: " + TASK_ID);
+        })).isInstanceOf(NotFoundException.class);
+
+        var loaded = taskCache.get(USER_ID, TASK_ID, () -> load("v1"));
+
+        Assertions.assertThat(loaded.title()).isEqualTo("v1");
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("get releases the key when the loader throws an Error, so concurrent and later calls do not block")
+    void get_ReleasesKey_WhenLoaderThrowsError() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var failedLoad = CompletableFuture.runAsync(() -> taskCache.get(USER_ID, TASK_ID, () -> {
+            loading.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        Assertions.assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        var waiter = CompletableFuture.supplyAsync(() -> taskCache.get(USER_ID, TASK_ID, () -> load("waiter")));
+        release.countDown();
+
+        Assertions.assertThatThrownBy(() -> failedLoad.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StackOverflowError.class);
+        try {
+            Assertions.assertThat(waiter.get(5, TimeUnit.SECONDS).title()).isEqualTo("waiter");
+        } catch (ExecutionException e) {
+            Assertions.assertThat(e).hasCauseInstanceOf(StackOverflowError.class);
+        }
+        Assertions.assertThat(taskCache.get(USER_ID, TASK_ID, () -> load("retry")).title()).isIn("waiter", "retry");
+    }
+
+    @Test
+    @DisplayName("invalidateAfterCompletion keeps the entry for other threads until the transaction completes")
+    void invalidateAfterCompletion_RemovesEntryOnlyAfterTransactionCompletes() throws Exception {
+        taskCache.get(USER_ID, TASK_ID, () -> load("v1"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        taskCache.invalidateAfterCompletion(USER_ID, List.of(TASK_ID));
+        var writerRead = taskCache.get(USER_ID, TASK_ID, () -> load("v2"));
+        var otherThreadRead = CompletableFuture.supplyAsync(() -> taskCache.get(USER_ID, TASK_ID, () -> load("v2")))
+                .get(5, TimeUnit.SECONDS);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        var afterCommit = taskCache.get(USER_ID, TASK_ID, () -> load("v3"));
+
+        Assertions.assertThat(writerRead.title()).isEqualTo("v2");
+        Assertions.assertThat(otherThreadRead.title()).isEqualTo("v1");
+        Assertions.assertThat(afterCommit.title()).isEqualTo("v3");
+        Assertions.assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("invalidateAfterCompletion discards the stale value of an in-flight load of the same key")
+    void invalidateAfterCompletion_DiscardsValueLoadedConcurrently() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var staleRead = CompletableFuture.supplyAsync(() -> taskCache.get(USER_ID, TASK_ID, () -> {
+            loading.countDown();
+            await(release);
+            return task("stale");
+        }));
+        Assertions.assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var invalidation = CompletableFuture.runAsync(() -> taskCache.invalidateAfterCompletion(USER_ID, List.of(TASK_ID)));
+        release.countDown();
+        staleRead.get(5, TimeUnit.SECONDS);
+        invalidation.get(5, TimeUnit.SECONDS);
+
+        var fresh = taskCache.get(USER_ID, TASK_ID, () -> load("fresh"));
+        Assertions.assertThat(fresh.title()).isEqualTo("fresh");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package dev.guilhermeluan.todo_list.infra.cache;
+
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.utils.UserUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class UserCacheTest {
+    private final UserUtils userUtils = new UserUtils();
+    private UserCache userCache;
+    private User testUser;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(100, Duration.ofMinutes(5));
+        testUser = userUtils.newUserTest();
+        loads = new AtomicInteger();
+    }
+
+    private User load(String login) {
+        loads.incrementAndGet();
+        return login.equals(testUser.getUsername()) ? testUser : null;
+    }
+
+    @Test
+    @DisplayName("get loads the user only once when it is requested repeatedly")
+    void get_LoadsUserOnce_WhenRequestedRepeatedly() {
+        var first = userCache.get(testUser.getUsername(), this::load);
+        var second = userCache.get(testUser.getUsername(), this::load);
+
+        Assertions.assertThat(first).isSameAs(testUser);
+        Assertions.assertThat(second).isSameAs(testUser);
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+        Assertions.assertThat(userCache.stats().hitCount()).isEqualTo(1);
+        Assertions.assertThat(userCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get does not cache users that were not found")
+    void get_DoesNotCacheMissingUsers_WhenLoaderReturnsNull() {
+        Assertions.assertThat(userCache.get("unknown", this::load)).isNull();
+        Assertions.assertThat(userCache.get("unknown", this::load)).isNull();
+
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("invalidate forces the next lookup to reload the user")
+    void invalidate_ReloadsUser_WhenLoginIsInvalidated() {
+        userCache.get(testUser.getUsername(), this::load);
+
+        userCache.invalidate(testUser.getUsername());
+        userCache.get(testUser.getUsername(), this::load);
+
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+    }
+}
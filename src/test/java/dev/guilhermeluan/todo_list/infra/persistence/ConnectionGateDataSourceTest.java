@@ -0,0 +1,88 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class ConnectionGateDataSourceTest {
+    private DataSource target;
+    private ConnectionGateDataSource gate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = Mockito.mock(DataSource.class);
+        BDDMockito.when(target.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        gate = new ConnectionGateDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    private Connection connectionFromOtherThread() throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return gate.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("getConnection fails with a transient exception when every permit is taken until the timeout")
+    void getConnection_ThrowsTransientException_WhenGateIsSaturated() throws Exception {
+        Connection held = connectionFromOtherThread();
+
+        Assertions.assertThatThrownBy(() -> gate.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        Assertions.assertThat(gate.getAvailablePermits()).isZero();
+
+        held.close();
+        Assertions.assertThat(gate.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("close releases the permit only once when called twice")
+    void close_ReleasesPermitOnce_WhenCalledTwice() throws Exception {
+        Connection connection = gate.getConnection();
+
+        connection.close();
+        connection.close();
+
+        Assertions.assertThat(gate.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getConnection returns the permit when the target data source fails")
+    void getConnection_ReleasesPermit_WhenTargetFails() throws Exception {
+        BDDMockito.when(target.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        Assertions.assertThatThrownBy(() -> gate.getConnection()).isInstanceOf(SQLException.class);
+
+        Assertions.assertThat(gate.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getConnection does not wait again when the thread already holds a connection")
+    void getConnection_SkipsGate_WhenThreadAlreadyHoldsConnection() throws Exception {
+        Connection outer = gate.getConnection();
+        Connection nested = gate.getConnection();
+        nested.close();
+
+        Assertions.assertThat(gate.getAvailablePermits()).isZero();
+        Assertions.assertThatThrownBy(this::connectionFromOtherThread)
+                .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+
+        outer.close();
+        Assertions.assertThat(gate.getAvailablePermits()).isEqualTo(1);
+        connectionFromOtherThread().close();
+    }
+}
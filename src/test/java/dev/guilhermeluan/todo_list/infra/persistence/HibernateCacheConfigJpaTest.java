@@ -0,0 +1,193 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import dev.guilhermeluan.todo_list.dto.TaskPatchRequestDTO;
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.UserRepository;
+import dev.guilhermeluan.todo_list.service.TaskService;
+import dev.guilhermeluan.todo_list.service.TaskSummaryService;
+import dev.guilhermeluan.todo_list.service.UserService;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+// Sem a transação do teste: o cache de segundo nível só é atualizado quando cada transação termina
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({HibernateCacheConfig.class, HibernateCacheEndpoint.class, TaskService.class, TaskSummaryService.class,
+        UserService.class, UserCache.class, TaskCache.class})
+class HibernateCacheConfigJpaTest {
+    private static final int SUBTASKS = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private HibernateCacheEndpoint endpoint;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TaskUtils taskUtils = new TaskUtils();
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User user;
+    private Task parent;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User("cached-user", "password", UserRole.USER);
+            entityManager.persist(user);
+            parent = taskUtils.newTaskToSave();
+            parent.setUser(user);
+            parent.setSubtaskTotal(SUBTASKS);
+            entityManager.persist(parent);
+            for (int i = 0; i < SUBTASKS; i++) {
+                Task subTask = taskUtils.newTaskToSave();
+                subTask.setUser(user);
+                subTask.setIsSubTask(true);
+                subTask.setParentTask(parent);
+                entityManager.persist(subTask);
+            }
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Task t where t.isSubTask = true").executeUpdate();
+            entityManager.createQuery("delete from Task").executeUpdate();
+            entityManager.createQuery("delete from TaskSummary").executeUpdate();
+            entityManager.createQuery("delete from User").executeUpdate();
+        });
+    }
+
+    // Cada leitura numa transação (e sessão) nova, como em requisições distintas
+    private Task readTaskWithSubTasks(Long id) {
+        return transactionTemplate.execute(status -> {
+            Task task = taskRepository.findById(id).orElseThrow();
+            task.getSubTasks().forEach(Task::getTitle);
+            return task;
+        });
+    }
+
+    private long statementsFor(Runnable reads) {
+        statistics.clear();
+        reads.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("repeated reads of users, tasks and subtasks are served by the second-level and query caches")
+    void reads_AreServedFromCache_AfterFirstLoad() {
+        Runnable reads = () -> transactionTemplate.executeWithoutResult(status -> {
+            userRepository.findById(user.getId()).orElseThrow();
+            userRepository.findByLogin(user.getUsername());
+        });
+
+        long coldStatements = statementsFor(() -> {
+            reads.run();
+            readTaskWithSubTasks(parent.getId());
+        });
+        long warmStatements = statementsFor(() -> {
+            reads.run();
+            readTaskWithSubTasks(parent.getId());
+        });
+
+        Assertions.assertThat(coldStatements).isPositive();
+        Assertions.assertThat(warmStatements).isZero();
+
+        var report = endpoint.report();
+        Assertions.assertThat(report.statisticsEnabled()).isTrue();
+        Assertions.assertThat(report.queryCacheHits()).isPositive();
+        Assertions.assertThat(report.regions())
+                .containsKeys(User.class.getName(), Task.class.getName(), HibernateCacheConfig.SUB_TASKS_REGION);
+        Assertions.assertThat(report.regions().get(Task.class.getName()).hits()).isPositive();
+    }
+
+    @Test
+    @DisplayName("entity writes, bulk counter updates and subtasks saved outside the collection are visible to cached reads")
+    void cachedReads_ReflectWrites_WhenTasksChange() {
+        readTaskWithSubTasks(parent.getId());
+        Long subTaskId = readTaskWithSubTasks(parent.getId()).getSubTasks().getFirst().getId();
+
+        var patch = new TaskPatchRequestDTO();
+        patch.setTitle(Optional.of("Renamed parent"));
+        taskService.patch(parent.getId(), patch, user.getId(), null);
+        // Atualiza o status da subtarefa e, por UPDATE em massa, os contadores da tarefa principal
+        taskService.updateStatus(TaskStatus.DONE, subTaskId, user.getId(), null);
+        // Como na importação: a subtarefa referencia o pai sem passar pela coleção dele
+        transactionTemplate.executeWithoutResult(status -> {
+            Task imported = taskUtils.newTaskToSave();
+            imported.setUser(entityManager.getReference(User.class, user.getId()));
+            imported.setIsSubTask(true);
+            imported.setParentTask(entityManager.getReference(Task.class, parent.getId()));
+            entityManager.persist(imported);
+        });
+
+        Task reloaded = readTaskWithSubTasks(parent.getId());
+
+        Assertions.assertThat(reloaded.getTitle()).isEqualTo("Renamed parent");
+        Assertions.assertThat(reloaded.getSubtaskDone()).isEqualTo(1);
+        Assertions.assertThat(reloaded.getSubTasks()).hasSize(SUBTASKS + 1);
+        Assertions.assertThat(reloaded.getSubTasks())
+                .filteredOn(subTask -> subTask.getId().equals(subTaskId))
+                .extracting(Task::getStatus)
+                .containsExactly(TaskStatus.DONE);
+        Assertions.assertThat(List.of(readTaskWithSubTasks(subTaskId).getStatus())).containsExactly(TaskStatus.DONE);
+    }
+
+    @Test
+    @DisplayName("subtask counter updates evict only the parent they change from the second-level cache")
+    void counterUpdates_EvictOnlyChangedParent() {
+        Task other = transactionTemplate.execute(status -> {
+            Task task = taskUtils.newTaskToSave();
+            task.setUser(entityManager.getReference(User.class, user.getId()));
+            entityManager.persist(task);
+            return task;
+        });
+        Long subTaskId = readTaskWithSubTasks(parent.getId()).getSubTasks().getFirst().getId();
+        readTaskWithSubTasks(other.getId());
+
+        taskService.updateStatus(TaskStatus.DONE, subTaskId, user.getId(), null);
+
+        Assertions.assertThat(statementsFor(() -> readTaskWithSubTasks(other.getId()))).isZero();
+        Assertions.assertThat(readTaskWithSubTasks(parent.getId()).getSubtaskDone()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,95 @@
+package dev.guilhermeluan.todo_list.infra.persistence;
+
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.repository.UserRepository;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Sem a transação do teste: cada leitura roda numa sessão nova, como em requisições distintas
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "cache.hibernate.enabled=false")
+@Import({HibernateCacheConfig.class, HibernateCacheDisabledConfig.class})
+class HibernateCacheDisabledConfigJpaTest {
+    private static final int READS = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TaskUtils taskUtils = new TaskUtils();
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User("uncached-user", "password", UserRole.USER);
+            entityManager.persist(user);
+            task = taskUtils.newTaskToSave();
+            task.setUser(user);
+            entityManager.persist(task);
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Task").executeUpdate();
+            entityManager.createQuery("delete from TaskSummary").executeUpdate();
+            entityManager.createQuery("delete from User").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("with cache.hibernate.enabled=false every findById goes to the database and no region is created")
+    void findById_HitsDatabaseEveryTime_WhenSecondLevelCacheIsDisabled() {
+        statistics.clear();
+        for (int i = 0; i < READS; i++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.findById(user.getId()).orElseThrow();
+                taskRepository.findById(task.getId()).orElseThrow();
+            });
+        }
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L * READS);
+        Assertions.assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+        Assertions.assertThat(statistics.getSecondLevelCacheRegionNames()).isEmpty();
+        Assertions.assertThat(entityManagerFactory.unwrap(SessionFactory.class).getSessionFactoryOptions()
+                .isSecondLevelCacheEnabled()).isFalse();
+    }
+}
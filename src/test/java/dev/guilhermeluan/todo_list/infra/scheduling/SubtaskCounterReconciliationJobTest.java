@@ -0,0 +1,75 @@
+package dev.guilhermeluan.todo_list.infra.scheduling;
+
+import dev.guilhermeluan.todo_list.dto.SubtaskCountersDTO;
+import dev.guilhermeluan.todo_list.service.TaskService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class SubtaskCounterReconciliationJobTest {
+    @Mock
+    private TaskService taskService;
+
+    private SubtaskCounterReconciliationJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new SubtaskCounterReconciliationJob(taskService, 2, true);
+    }
+
+    @Test
+    @DisplayName("reconcile walks the tasks chunk by chunk and returns the drifts of every chunk")
+    void reconcile_WalksEveryChunk_AndReturnsDrifts() {
+        var drifted = new SubtaskCountersDTO(1L, 3, 1, 2L, 2L);
+        var consistent = new SubtaskCountersDTO(4L, 1, 0, 1L, 0L);
+        var lastDrifted = new SubtaskCountersDTO(9L, 0, 0, 1L, 1L);
+
+        BDDMockito.when(taskService.reconcileSubtaskCountersChunk(0L, 2, true)).thenReturn(List.of(drifted, consistent));
+        BDDMockito.when(taskService.reconcileSubtaskCountersChunk(4L, 2, true)).thenReturn(List.of(lastDrifted));
+
+        var drifts = job.reconcile();
+
+        Assertions.assertThat(drifts).containsExactly(drifted, lastDrifted);
+        Mockito.verify(taskService, Mockito.times(2))
+                .reconcileSubtaskCountersChunk(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(2), ArgumentMatchers.eq(true));
+    }
+
+    @Test
+    @DisplayName("reconcile skips the run when another reconciliation is still in progress")
+    void reconcile_SkipsRun_WhenAnotherRunIsInProgress() throws Exception {
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        BDDMockito.when(taskService.reconcileSubtaskCountersChunk(0L, 2, true)).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        var firstRun = CompletableFuture.supplyAsync(job::reconcile);
+        Assertions.assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Assertions.assertThat(job.reconcile()).isEmpty();
+
+        release.countDown();
+        Assertions.assertThat(firstRun.get(5, TimeUnit.SECONDS)).isEmpty();
+        Mockito.verify(taskService, Mockito.times(1))
+                .reconcileSubtaskCountersChunk(ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyBoolean());
+
+        job.reconcile();
+        Mockito.verify(taskService, Mockito.times(2))
+                .reconcileSubtaskCountersChunk(ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyBoolean());
+    }
+}
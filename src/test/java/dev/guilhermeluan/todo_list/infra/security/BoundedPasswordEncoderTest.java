@@ -0,0 +1,100 @@
+package dev.guilhermeluan.todo_list.infra.security;
+
+import dev.guilhermeluan.todo_list.exceptions.TooManyRequestsException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class BoundedPasswordEncoderTest {
+    private ThreadPoolTaskExecutor executor;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.initialize();
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("encode and matches run the hash on the dedicated pool")
+    void encodeAndMatches_RunOnDedicatedPool() {
+        var hashingThread = new AtomicReference<String>();
+        PasswordEncoder recording = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return super.encode(rawPassword);
+            }
+        };
+        var encoder = new BoundedPasswordEncoder(recording, executor);
+
+        String hash = encoder.encode("password");
+
+        Assertions.assertThat(hashingThread.get()).startsWith("password-hashing-");
+        Assertions.assertThat(encoder.matches("password", hash)).isTrue();
+        Assertions.assertThat(encoder.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("encode throws TooManyRequestsException when the pool and its queue are full")
+    void encode_ThrowsTooManyRequests_WhenPoolIsSaturated() throws Exception {
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        Assertions.assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> await(release));
+
+        try {
+            Assertions.assertThatThrownBy(() -> passwordEncoder.encode("password"))
+                    .isInstanceOf(TooManyRequestsException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("matches propagates exceptions thrown by the delegate encoder")
+    void matches_PropagatesDelegateException() {
+        PasswordEncoder failing = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("Hash inválido");
+            }
+        };
+        var encoder = new BoundedPasswordEncoder(failing, executor);
+
+        Assertions.assertThatThrownBy(() -> encoder.matches("password", "hash"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hash inválido");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
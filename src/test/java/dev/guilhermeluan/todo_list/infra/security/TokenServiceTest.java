@@ -0,0 +1,83 @@
+package dev.guilhermeluan.todo_list.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.utils.UserUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+class TokenServiceTest {
+    private final UserUtils userUtils = new UserUtils();
+    private TokenService tokenService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(new JwtProperties("auth0", "k1", Map.of("k1", "secret-1"), 100));
+        testUser = userUtils.newUserTest();
+    }
+
+    @Test
+    @DisplayName("validateToken returns the principal carried by a generated token")
+    void validateToken_ReturnsPrincipal_WhenTokenIsValid() {
+        var token = tokenService.generateToken(testUser);
+
+        var principal = tokenService.validateToken(token);
+
+        Assertions.assertThat(principal).isEqualTo(new AuthenticatedUser(testUser.getId(), testUser.getUsername(), UserRole.USER));
+        Assertions.assertThat(JWT.decode(token).getKeyId()).isEqualTo("k1");
+    }
+
+    @Test
+    @DisplayName("validateToken returns the same principal when the token is validated again")
+    void validateToken_ReturnsSamePrincipal_WhenTokenIsValidatedTwice() {
+        var token = tokenService.generateToken(testUser);
+
+        var first = tokenService.validateToken(token);
+        var second = tokenService.validateToken(token);
+
+        Assertions.assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("validateToken returns null when the signature does not match")
+    void validateToken_ReturnsNull_WhenSignatureIsInvalid() {
+        var token = JWT.create()
+                .withKeyId("k1")
+                .withIssuer("auth0")
+                .withSubject(testUser.getUsername())
+                .withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .sign(Algorithm.HMAC256("another-secret"));
+
+        Assertions.assertThat(tokenService.validateToken(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("validateToken accepts tokens signed with a previous key that is still configured")
+    void validateToken_ReturnsPrincipal_WhenTokenWasSignedWithRotatedKey() {
+        var oldToken = tokenService.generateToken(testUser);
+        var rotatedTokenService = new TokenService(
+                new JwtProperties("auth0", "k2", Map.of("k1", "secret-1", "k2", "secret-2"), 100));
+
+        var principal = rotatedTokenService.validateToken(oldToken);
+        var newToken = rotatedTokenService.generateToken(testUser);
+
+        Assertions.assertThat(principal).isNotNull();
+        Assertions.assertThat(JWT.decode(newToken).getKeyId()).isEqualTo("k2");
+        Assertions.assertThat(tokenService.validateToken(newToken)).isNull();
+    }
+
+    @Test
+    @DisplayName("validateToken returns null when the token is malformed")
+    void validateToken_ReturnsNull_WhenTokenIsMalformed() {
+        Assertions.assertThat(tokenService.validateToken("not-a-jwt")).isNull();
+    }
+}
@@ -0,0 +1,158 @@
+package dev.guilhermeluan.todo_list.repository;
+
+import dev.guilhermeluan.todo_list.dto.TaskFilter;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import org.assertj.core.api.Assertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Roda EXPLAIN sobre o SQL que o Hibernate realmente gera para GET /v1/tasks. Os valores dos critérios vão
+// inline para que só os parâmetros do limit precisem ser preenchidos antes do EXPLAIN
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=dev.guilhermeluan.todo_list.repository.TaskIndexExplainTest$SqlCapture",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskIndexExplainTest {
+    private static final int USERS = 20;
+    private static final int TASKS_PER_USER = 200;
+    private static final int PAGE_SIZE = 10;
+    private static final LocalDate BASE_DUE_DATE = LocalDate.of(2030, 1, 1);
+    private static final Set<String> LISTING_INDEXES = Set.of(
+            "idx_task_user_top_level", "idx_task_user_status", "idx_task_user_priority", "idx_task_user_due_date");
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Long userId;
+
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static void clear() {
+            synchronized (STATEMENTS) {
+                STATEMENTS.clear();
+            }
+        }
+
+        static String first() {
+            synchronized (STATEMENTS) {
+                Assertions.assertThat(STATEMENTS).isNotEmpty();
+                return STATEMENTS.get(0);
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> tasks = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            jdbcTemplate.update("insert into user (login, password, role) values (?, ?, 1)", "explain-" + u, "password");
+            Long id = jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+            if (userId == null) {
+                userId = id;
+            }
+
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                tasks.add(new Object[]{
+                        "Task " + i,
+                        TaskStatus.values()[i % TaskStatus.values().length].name(),
+                        Priority.values()[i % Priority.values().length].name(),
+                        Timestamp.valueOf(BASE_DUE_DATE.plusDays(i % 30).atTime(12, 0)),
+                        i % 3 == 0,
+                        id
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into task (title, status, priority, due_date, is_sub_task, user_id) values (?, ?, ?, ?, ?, ?)",
+                tasks);
+        jdbcTemplate.execute("analyze table task");
+    }
+
+    static Stream<Arguments> filterAndSortCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (String sort : List.of("id", "title", "dueDate", "status", "priority")) {
+            for (boolean status : new boolean[]{false, true}) {
+                for (boolean priority : new boolean[]{false, true}) {
+                    for (boolean dueDate : new boolean[]{false, true}) {
+                        combinations.add(Arguments.of(sort, status, priority, dueDate));
+                    }
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest(name = "sort={0}, status={1}, priority={2}, dueDate={3}")
+    @MethodSource("filterAndSortCombinations")
+    @DisplayName("listing query generated by Hibernate uses a listing index for every filter and sort of GET /v1/tasks")
+    void listingQuery_UsesListingIndex_ForEveryFilterAndSort(String sort, boolean status, boolean priority, boolean dueDate) {
+        TaskFilter filter = new TaskFilter(
+                status ? TaskStatus.IN_PROGRESS : null,
+                priority ? Priority.HIGH : null,
+                null,
+                dueDate ? BASE_DUE_DATE.plusDays(3).atStartOfDay(ZoneOffset.UTC) : null,
+                dueDate ? BASE_DUE_DATE.plusDays(10).atStartOfDay(ZoneOffset.UTC) : null,
+                null,
+                null);
+
+        SqlCapture.clear();
+        taskRepository.findAllProjected(TaskSpecification.buildFilterSpec(userId, filter),
+                PageRequest.of(0, PAGE_SIZE, Sort.by(sort)));
+
+        // A primeira instrução é a consulta das linhas; as seguintes buscam subtarefas e o total
+        String sql = SqlCapture.first()
+                .replaceFirst("limit \\?,\\?$", "limit 0," + PAGE_SIZE)
+                .replaceFirst("limit \\?$", "limit " + PAGE_SIZE);
+        Assertions.assertThat(sql).doesNotContain("?");
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql);
+
+        Assertions.assertThat(plan)
+                .allSatisfy(row -> {
+                    Assertions.assertThat(row.get("type")).as("access type of %s", sql).isIn("ref", "range");
+                    Assertions.assertThat(row.get("key")).as("index of %s", sql).isIn(LISTING_INDEXES);
+                });
+    }
+}
@@ -4,6 +4,7 @@ import dev.guilhermeluan.todo_list.dto.AuthenticationDTO;
 import dev.guilhermeluan.todo_list.dto.LoginResponseDTO;
 import dev.guilhermeluan.todo_list.dto.RegisterDTO;
 import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
 import dev.guilhermeluan.todo_list.infra.security.TokenService;
 import dev.guilhermeluan.todo_list.model.User;
 import dev.guilhermeluan.todo_list.model.UserRole;
@@ -18,10 +19,13 @@ import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationServiceTest {
@@ -37,9 +41,15 @@ class AuthenticationServiceTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private UserCache userCache;
+
     @Mock
     private Authentication authentication;
 
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
     private UserUtils userUtils = new UserUtils();
     private User testUser;
     private AuthenticationDTO authData;
@@ -85,6 +95,7 @@ class AuthenticationServiceTest {
 
         Mockito.verify(userRepository, Mockito.times(1)).findByLogin(registerData.login());
         Mockito.verify(userRepository, Mockito.times(1)).save(Mockito.any(User.class));
+        Mockito.verify(userCache, Mockito.times(1)).invalidate(registerData.login());
     }
 
     @Test
@@ -109,7 +120,7 @@ class AuthenticationServiceTest {
 
         Mockito.verify(userRepository).save(Mockito.argThat(user -> {
             return !user.getPassword().equals(registerData.password()) &&
-                   user.getPassword().length() > 50;
+                   passwordEncoder.matches(registerData.password(), user.getPassword());
         }));
     }
 
@@ -0,0 +1,175 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.dto.TaskBatchResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkFilterDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkStatusRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskLookupRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPostRequestDTO;
+import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskMapperImpl;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.repository.TaskRepository;
+import dev.guilhermeluan.todo_list.utils.UserUtils;
+import jakarta.validation.Validation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+    private static final int MAX_BATCH_SIZE = 3;
+
+    private TaskBatchService taskBatchService;
+    private final UserUtils userUtils = new UserUtils();
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskSummaryService taskSummaryService;
+    @Mock
+    private TaskCache taskCache;
+    @Mock
+    private UserService userService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        taskBatchService = new TaskBatchService(taskService, taskRepository, taskSummaryService, taskCache, userService, new TaskMapperImpl(),
+                Validation.buildDefaultValidatorFactory().getValidator(), MAX_BATCH_SIZE);
+        testUser = userUtils.newUserTest();
+    }
+
+    private TaskPostRequestDTO request(String title, List<TaskPostRequestDTO> subtasks) {
+        return new TaskPostRequestDTO(title, null, ZonedDateTime.now().plusDays(7), TaskStatus.TO_DO, Priority.HIGH, subtasks);
+    }
+
+    private void mockSaveAllAssigningIds() {
+        AtomicLong ids = new AtomicLong(100);
+        BDDMockito.when(taskService.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> {
+                task.setId(ids.incrementAndGet());
+                task.getSubTasks().forEach(subTask -> subTask.setId(ids.incrementAndGet()));
+            });
+            return tasks;
+        });
+    }
+
+    @Test
+    @DisplayName("create saves every task in one call and returns the ids in request order")
+    void create_ReturnsIdsInRequestOrder_WhenAllItemsAreValid() {
+        BDDMockito.when(userService.getReferenceById(testUser.getId())).thenReturn(testUser);
+        mockSaveAllAssigningIds();
+        var requests = List.of(
+                request("First task", List.of(request("First subtask", null))),
+                request("Second task", null));
+
+        var response = taskBatchService.create(requests, testUser.getId(), false);
+
+        Assertions.assertThat(response.created()).isEqualTo(2);
+        Assertions.assertThat(response.failed()).isZero();
+        Assertions.assertThat(response.results()).containsExactly(
+                new TaskBatchResponseDTO.ItemResult(0, 101L, List.of(102L), List.of()),
+                new TaskBatchResponseDTO.ItemResult(1, 103L, List.of(), List.of()));
+        Mockito.verify(taskService, Mockito.times(1)).saveAll(ArgumentMatchers.argThat(tasks ->
+                tasks.size() == 2 && tasks.stream().allMatch(task -> task.getUser() == testUser)));
+    }
+
+    @Test
+    @DisplayName("create saves nothing and reports the invalid items when partial is false")
+    void create_SavesNothing_WhenAnItemIsInvalidAndPartialIsFalse() {
+        var requests = List.of(request("Valid task", null), request("", null));
+
+        var response = taskBatchService.create(requests, testUser.getId(), false);
+
+        Assertions.assertThat(response.created()).isZero();
+        Assertions.assertThat(response.failed()).isEqualTo(1);
+        Assertions.assertThat(response.results().get(0).id()).isNull();
+        Assertions.assertThat(response.results().get(1).errors()).isNotEmpty();
+        Mockito.verify(taskService, Mockito.never()).saveAll(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    @DisplayName("create saves the valid items and reports the invalid ones when partial is true")
+    void create_SavesValidItems_WhenAnItemIsInvalidAndPartialIsTrue() {
+        BDDMockito.when(userService.getReferenceById(testUser.getId())).thenReturn(testUser);
+        mockSaveAllAssigningIds();
+        var nestedSubtask = request("Nested subtask", List.of(request("Too deep", null)));
+        var requests = List.of(request("Invalid task", List.of(nestedSubtask)), request("Valid task", null));
+
+        var response = taskBatchService.create(requests, testUser.getId(), true);
+
+        Assertions.assertThat(response.created()).isEqualTo(1);
+        Assertions.assertThat(response.failed()).isEqualTo(1);
+        Assertions.assertThat(response.results().get(0).errors())
+                .containsExactly("subtasks[0]: Não é possível aninhar subtarefas. A tarefa pai deve ser uma tarefa principal");
+        Assertions.assertThat(response.results().get(1).id()).isEqualTo(101L);
+    }
+
+    @Test
+    @DisplayName("create throws BadRequestException when the batch exceeds the maximum size")
+    void create_ThrowsBadRequestException_WhenBatchExceedsMaximumSize() {
+        var requests = List.of(request("Task 1", null), request("Task 2", null),
+                request("Task 3", null), request("Task 4", null));
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskBatchService.create(requests, testUser.getId(), false))
+                .isInstanceOf(BadRequestException.class);
+
+        Mockito.verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("updateStatus throws BadRequestException when both ids and filter are sent")
+    void updateStatus_ThrowsBadRequestException_WhenIdsAndFilterAreSent() {
+        var request = new TaskBulkStatusRequestDTO(List.of(1L), new TaskBulkFilterDTO(null, Priority.HIGH, null), TaskStatus.DONE);
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskBatchService.updateStatus(request, testUser.getId()))
+                .isInstanceOf(BadRequestException.class);
+
+        Mockito.verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("updateStatus throws BadRequestException when neither ids nor filter are sent")
+    void updateStatus_ThrowsBadRequestException_WhenIdsAndFilterAreMissing() {
+        var request = new TaskBulkStatusRequestDTO(List.of(), null, TaskStatus.DONE);
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskBatchService.updateStatus(request, testUser.getId()))
+                .isInstanceOf(BadRequestException.class);
+
+        Mockito.verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("lookup throws BadRequestException when no ids or more distinct ids than the maximum are sent")
+    void lookup_ThrowsBadRequestException_WhenIdsAreMissingOrExceedMaximumSize() {
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskBatchService.lookup(new TaskLookupRequestDTO(List.of()), testUser.getId()))
+                .isInstanceOf(BadRequestException.class);
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskBatchService.lookup(new TaskLookupRequestDTO(List.of(1L, 2L, 3L, 4L)), testUser.getId()))
+                .isInstanceOf(BadRequestException.class);
+
+        Mockito.verifyNoInteractions(taskRepository);
+    }
+}
@@ -0,0 +1,163 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPatchRequestDTO;
+import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Sem a transação do teste: cada escrita é confirmada antes de a próxima leitura ser verificada
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskService.class, TaskSummaryService.class, UserService.class, UserCache.class, TaskCache.class})
+class TaskCacheInvalidationJpaTest {
+    private static final int WRITES = 200;
+    private static final int READERS = 4;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskCache taskCache;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TaskUtils taskUtils = new TaskUtils();
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Task parent;
+    private Task subTask;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User("cache-user", "password", UserRole.USER);
+            entityManager.persist(user);
+            parent = taskUtils.newTaskToSave();
+            parent.setUser(user);
+            parent.setSubtaskTotal(1);
+            entityManager.persist(parent);
+            subTask = taskUtils.newTaskToSave();
+            subTask.setUser(user);
+            subTask.setIsSubTask(true);
+            subTask.setParentTask(parent);
+            entityManager.persist(subTask);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Task t where t.isSubTask = true").executeUpdate();
+            entityManager.createQuery("delete from Task").executeUpdate();
+            entityManager.createQuery("delete from TaskSummary").executeUpdate();
+            entityManager.createQuery("delete from User").executeUpdate();
+        });
+    }
+
+    private TaskPatchRequestDTO titlePatch(String title) {
+        var patch = new TaskPatchRequestDTO();
+        patch.setTitle(Optional.of(title));
+        return patch;
+    }
+
+    @Test
+    @DisplayName("every committed write is visible to the next read while concurrent readers keep repopulating the cache")
+    void findProjectedById_SeesEveryCommittedWrite_WhenReadersRunConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            readers.add(executor.submit(() -> {
+                while (writing.get()) {
+                    taskService.findProjectedById(subTask.getId(), user.getId());
+                    taskService.findProjectedById(parent.getId(), user.getId());
+                }
+            }));
+        }
+
+        List<String> staleReads = new ArrayList<>();
+        try {
+            for (int i = 1; i <= WRITES; i++) {
+                String title = "Subtask version " + i;
+                taskService.patch(subTask.getId(), titlePatch(title), user.getId(), null);
+
+                TaskGetResponseDTO task = taskService.findProjectedById(subTask.getId(), user.getId());
+                TaskGetResponseDTO parentTask = taskService.findProjectedById(parent.getId(), user.getId());
+                if (!task.title().equals(title) || !parentTask.subtasks().getFirst().title().equals(title)) {
+                    staleReads.add(title);
+                }
+            }
+        } finally {
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+        }
+
+        Assertions.assertThat(staleReads).isEmpty();
+        Assertions.assertThat(taskCache.stats().hitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("status updates, subtask creation and deletes invalidate the cached task and its parent")
+    void writePaths_InvalidateTaskAndParent_WhenTaskIsCached() {
+        taskService.findProjectedById(parent.getId(), user.getId());
+        taskService.findProjectedById(subTask.getId(), user.getId());
+
+        taskService.updateStatus(TaskStatus.DONE, subTask.getId(), user.getId(), null);
+        var parentAfterStatus = taskService.findProjectedById(parent.getId(), user.getId());
+        var subTaskAfterStatus = taskService.findProjectedById(subTask.getId(), user.getId());
+
+        Task newSubTask = taskUtils.newTaskToSave();
+        newSubTask.setUser(user);
+        Long newSubTaskId = taskService.createSubTask(parent.getId(), newSubTask, user.getId()).getId();
+        var parentAfterCreate = taskService.findProjectedById(parent.getId(), user.getId());
+        taskService.findProjectedById(newSubTaskId, user.getId());
+
+        taskService.delete(parent.getId(), user.getId(), null);
+
+        Assertions.assertThat(subTaskAfterStatus.status()).isEqualTo(TaskStatus.DONE);
+        Assertions.assertThat(parentAfterStatus.subtaskDone()).isEqualTo(1);
+        Assertions.assertThat(parentAfterCreate.subtaskTotal()).isEqualTo(2);
+        Assertions.assertThat(parentAfterCreate.subtasks()).hasSize(2);
+        for (Long id : List.of(parent.getId(), subTask.getId(), newSubTaskId)) {
+            Assertions.assertThatThrownBy(() -> taskService.findProjectedById(id, user.getId()))
+                    .isInstanceOf(NotFoundException.class);
+        }
+    }
+}
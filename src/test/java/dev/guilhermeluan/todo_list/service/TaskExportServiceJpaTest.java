@@ -0,0 +1,159 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TaskExportServiceJpaTest {
+    // O H2 em memória guarda todas as linhas no mesmo heap do teste; a conta de um milhão de tarefas
+    // é executada com -Dtasks.export.test-rows=1000000 e um -Xmx maior
+    private static final int EXPORT_ROWS = Integer.getInteger("tasks.export.test-rows", 200_000);
+    private static final long HEAP_BUDGET_BYTES = 32L * 1024 * 1024;
+
+    @Autowired
+    private TaskExportService taskExportService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final TaskUtils taskUtils = new TaskUtils();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("export-user", "password", UserRole.USER);
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    private Task persistTask(String title, Task parent) {
+        Task task = taskUtils.newTaskToSave();
+        task.setTitle(title);
+        task.setUser(user);
+        if (parent != null) {
+            task.setIsSubTask(true);
+            task.setParentTask(parent);
+            task.setStatus(TaskStatus.DONE);
+        }
+        entityManager.persist(task);
+        return task;
+    }
+
+    @Test
+    @DisplayName("export writes every task and subtask of the user as NDJSON lines and as CSV rows")
+    void export_WritesTasksAndSubtasks_AsNdjsonAndCsv() throws Exception {
+        Task parent = persistTask("Release, \"v2\"", null);
+        Task subTask = persistTask("Write changelog", parent);
+        User anotherUser = new User("another-user", "password", UserRole.USER);
+        entityManager.persist(anotherUser);
+        Task anotherUsersTask = taskUtils.newTaskToSave();
+        anotherUsersTask.setUser(anotherUser);
+        entityManager.persist(anotherUsersTask);
+        entityManager.flush();
+        entityManager.clear();
+
+        var ndjson = new ByteArrayOutputStream();
+        long exported = taskExportService.export(user.getId(), TaskFileFormat.NDJSON, ndjson);
+
+        List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertThat(exported).isEqualTo(2);
+        Assertions.assertThat(ndjson.toString(StandardCharsets.UTF_8)).endsWith("\n");
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(lines.get(0)).contains("\"id\":" + parent.getId(), "\"parentTaskId\":null", "\"title\":\"Release, \\\"v2\\\"\"");
+        Assertions.assertThat(lines.get(1)).contains("\"id\":" + subTask.getId(), "\"parentTaskId\":" + parent.getId(), "\"status\":\"DONE\"");
+
+        var csv = new ByteArrayOutputStream();
+        taskExportService.export(user.getId(), TaskFileFormat.CSV, csv);
+
+        List<String> rows = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertThat(rows).hasSize(3);
+        Assertions.assertThat(rows.get(0)).isEqualTo("id,parentTaskId,title,description,dueDate,status,priority");
+        Assertions.assertThat(rows.get(1)).startsWith(parent.getId() + ",,\"Release, \"\"v2\"\"\",");
+        Assertions.assertThat(rows.get(2)).startsWith(subTask.getId() + "," + parent.getId() + ",\"Write changelog\",");
+    }
+
+    @Test
+    @DisplayName("export streams a large account without growing the heap beyond a fixed budget")
+    void export_StaysWithinHeapBudget_ForLargeAccount() throws Exception {
+        entityManager.createNativeQuery("insert into task (id, title, status, priority, is_sub_task, user_id, version, subtask_total, subtask_done) " +
+                        "select r.n + 1000000000, 'Task ' || r.n, 'TO_DO', 'HIGH', false, :userId, 0, 0, 0 from system_range(1, " + EXPORT_ROWS + ") r(n)")
+                .setParameter("userId", user.getId())
+                .executeUpdate();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        var out = new HeapSamplingOutputStream(memory);
+
+        long exported = taskExportService.export(user.getId(), TaskFileFormat.NDJSON, out);
+
+        Assertions.assertThat(exported).isEqualTo(EXPORT_ROWS);
+        Assertions.assertThat(out.lines).isEqualTo(EXPORT_ROWS);
+        Assertions.assertThat(out.samples).isGreaterThan(5);
+        Assertions.assertThat(out.peakUsed - baseline)
+                .as("heap growth while exporting %d tasks", EXPORT_ROWS)
+                .isLessThan(HEAP_BUDGET_BYTES);
+    }
+
+    // Descarta o conteúdo e mede o heap após um GC a cada bloco escrito
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private static final long SAMPLE_EVERY_BYTES = 4L * 1024 * 1024;
+
+        private final MemoryMXBean memory;
+        private long written;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+        private long lines;
+        private int samples;
+        private long peakUsed;
+
+        HeapSamplingOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+            written++;
+            if (written >= nextSample) {
+                nextSample += SAMPLE_EVERY_BYTES;
+                System.gc();
+                peakUsed = Math.max(peakUsed, memory.getHeapMemoryUsage().getUsed());
+                samples++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.guilhermeluan.todo_list.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class TaskImportRegistryTest {
+    private static final Duration RETENTION = Duration.ofMillis(100);
+
+    private final TaskImportRegistry registry = new TaskImportRegistry(RETENTION);
+
+    @Test
+    @DisplayName("find keeps returning queued and running imports after the retention period")
+    void find_KeepsUnfinishedJobs_AfterRetention() throws InterruptedException {
+        TaskImportJob queued = new TaskImportJob(1L, TaskFileFormat.NDJSON, 10);
+        TaskImportJob running = new TaskImportJob(1L, TaskFileFormat.CSV, 10);
+        running.start();
+        registry.register(queued);
+        registry.register(running);
+
+        Thread.sleep(RETENTION.multipliedBy(3).toMillis());
+
+        Assertions.assertThat(registry.find(queued.getId())).contains(queued);
+        Assertions.assertThat(registry.find(running.getId())).contains(running);
+    }
+
+    @Test
+    @DisplayName("find drops an import once the retention period has passed since it finished")
+    void find_DropsJob_WhenRetentionPassedSinceFinish() throws InterruptedException {
+        TaskImportJob job = new TaskImportJob(1L, TaskFileFormat.NDJSON, 10);
+        registry.register(job);
+        job.start();
+        Thread.sleep(RETENTION.multipliedBy(3).toMillis());
+
+        job.complete();
+        registry.finished(job);
+
+        Assertions.assertThat(registry.find(job.getId())).contains(job);
+
+        Thread.sleep(RETENTION.multipliedBy(3).toMillis());
+
+        Assertions.assertThat(registry.find(job.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("finished does not bring back an import that was removed")
+    void finished_DoesNotRegisterRemovedJob() {
+        TaskImportJob job = new TaskImportJob(1L, TaskFileFormat.NDJSON, 10);
+        registry.register(job);
+        registry.remove(job.getId());
+
+        job.fail("Erro inesperado durante a importação.");
+        registry.finished(job);
+
+        Assertions.assertThat(registry.find(job.getId())).isEmpty();
+    }
+}
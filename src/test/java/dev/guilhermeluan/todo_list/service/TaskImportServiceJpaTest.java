@@ -0,0 +1,168 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.config.TaskImportConfig;
+import dev.guilhermeluan.todo_list.dto.TaskImportReportDTO;
+import dev.guilhermeluan.todo_list.dto.TaskStatsResponseDTO;
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskMapperImpl;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Sem a transação do teste: cada bloco da importação é confirmado na sua própria transação
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"tasks.import.chunk-size=2", "tasks.import.max-errors=2"})
+@Import({TaskImportService.class, TaskImportRegistry.class, TaskImportConfig.class, TaskService.class, TaskSummaryService.class,
+        UserService.class, UserCache.class, TaskCache.class, TaskMapperImpl.class, LocalValidatorFactoryBean.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TaskImportServiceJpaTest {
+    @Autowired
+    private TaskImportService taskImportService;
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        user = transactionTemplate.execute(status -> {
+            User newUser = new User("import-user", "password", UserRole.USER);
+            entityManager.persist(newUser);
+            return newUser;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Task t where t.isSubTask = true").executeUpdate();
+            entityManager.createQuery("delete from Task").executeUpdate();
+            entityManager.createQuery("delete from TaskSummary").executeUpdate();
+            entityManager.createQuery("delete from User").executeUpdate();
+        });
+    }
+
+    private TaskImportReportDTO runImport(TaskFileFormat format, String content) {
+        TaskImportJob job = new TaskImportJob(user.getId(), format, 2);
+        taskImportService.run(job, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return job.toReport();
+    }
+
+    private List<Task> findImportedTasks() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select t from Task t left join fetch t.parentTask where t.user.id = :userId order by t.id", Task.class)
+                .setParameter("userId", user.getId())
+                .getResultList());
+    }
+
+    @Test
+    @DisplayName("run imports NDJSON rows in chunks, links subtasks across chunks and reports invalid rows")
+    void run_ImportsNdjsonInChunks_AndReportsInvalidRows() {
+        String content = """
+                {"id":10,"parentTaskId":null,"title":"Release v2","dueDate":"2030-01-01T12:00:00Z","status":"TO_DO","priority":"HIGH"}
+                {"id":11,"parentTaskId":null,"title":"Plan sprint","status":"IN_PROGRESS","priority":"LOW"}
+                {"id":12,"parentTaskId":10,"title":"Write changelog","status":"DONE","priority":"MEDIUM"}
+
+                {"id":13,"parentTaskId":10,"title":"Tag version","status":"TO_DO","priority":"MEDIUM"}
+                {"id":14,"parentTaskId":12,"title":"Nested subtask","status":"TO_DO"}
+                {"id":15,"title":"x"}
+                not json
+                {"id":16,"parentTaskId":99,"title":"Orphan subtask"}
+                """;
+
+        TaskImportReportDTO report = runImport(TaskFileFormat.NDJSON, content);
+
+        Assertions.assertThat(report.status()).isEqualTo(TaskImportReportDTO.Status.COMPLETED);
+        Assertions.assertThat(report.processed()).isEqualTo(8);
+        Assertions.assertThat(report.imported()).isEqualTo(4);
+        Assertions.assertThat(report.failed()).isEqualTo(4);
+        Assertions.assertThat(report.errors()).hasSize(2);
+        Assertions.assertThat(report.errorsTruncated()).isTrue();
+        Assertions.assertThat(report.errors())
+                .extracting(TaskImportReportDTO.RowError::line)
+                .containsExactly(7L, 8L);
+
+        List<Task> tasks = findImportedTasks();
+        Assertions.assertThat(tasks).extracting(Task::getTitle)
+                .containsExactly("Release v2", "Plan sprint", "Write changelog", "Tag version");
+        Task release = tasks.get(0);
+        Assertions.assertThat(tasks.subList(2, 4))
+                .allSatisfy(subTask -> {
+                    Assertions.assertThat(subTask.isSubTask()).isTrue();
+                    Assertions.assertThat(subTask.getParentTask().getId()).isEqualTo(release.getId());
+                });
+        Assertions.assertThat(release.getSubtaskTotal()).isEqualTo(2);
+        Assertions.assertThat(release.getSubtaskDone()).isEqualTo(1);
+
+        TaskStatsResponseDTO stats = taskSummaryService.getStats(user.getId());
+        Assertions.assertThat(stats.total()).isEqualTo(2);
+        Assertions.assertThat(stats.byStatus())
+                .containsEntry(TaskStatus.TO_DO, 1L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 1L);
+        Assertions.assertThat(stats.byPriority())
+                .containsEntry(Priority.HIGH, 1L)
+                .containsEntry(Priority.LOW, 1L);
+    }
+
+    @Test
+    @DisplayName("run imports CSV in the export layout and keeps reading after a row with an invalid value")
+    void run_ImportsCsv_AndSkipsRowsWithInvalidValues() {
+        String content = """
+                id,parentTaskId,title,description,dueDate,status,priority
+                1,,"Release, ""v2""\",,2030-01-01T12:00:00Z,TO_DO,HIGH
+                2,1,Write changelog,,,UNKNOWN,LOW
+                3,1,Tag version,Bump pom,,DONE,LOW
+                """;
+
+        TaskImportReportDTO report = runImport(TaskFileFormat.CSV, content);
+
+        Assertions.assertThat(report.status()).isEqualTo(TaskImportReportDTO.Status.COMPLETED);
+        Assertions.assertThat(report.imported()).isEqualTo(2);
+        Assertions.assertThat(report.failed()).isEqualTo(1);
+        Assertions.assertThat(report.errors()).singleElement()
+                .extracting(TaskImportReportDTO.RowError::line)
+                .isEqualTo(3L);
+
+        List<Task> tasks = findImportedTasks();
+        Assertions.assertThat(tasks).extracting(Task::getTitle)
+                .containsExactly("Release, \"v2\"", "Tag version");
+        Assertions.assertThat(tasks.get(0).getSubtaskTotal()).isEqualTo(1);
+        Assertions.assertThat(tasks.get(0).getSubtaskDone()).isEqualTo(1);
+        Assertions.assertThat(tasks.get(1).getDescription()).isEqualTo("Bump pom");
+    }
+}
@@ -0,0 +1,104 @@
+package dev.guilhermeluan.todo_list.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.guilhermeluan.todo_list.exceptions.PayloadTooLargeException;
+import dev.guilhermeluan.todo_list.exceptions.TooManyRequestsException;
+import dev.guilhermeluan.todo_list.model.TaskMapper;
+import jakarta.validation.Validator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// O executor simulado nunca roda as importações, então cada start bem-sucedido mantém a sua vaga ocupada
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+    private static final DataSize MAX_BYTES = DataSize.ofBytes(64);
+    private static final String SMALL_FILE = "{\"title\":\"Deploy application\"}\n";
+
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private TaskSummaryService summaryService;
+    @Mock
+    private TaskMapper mapper;
+    @Mock
+    private Validator validator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private final TaskImportRegistry registry = new TaskImportRegistry(Duration.ofHours(1));
+    private TaskImportService taskImportService;
+
+    @BeforeEach
+    void setUp() {
+        BDDMockito.when(executor.getMaxPoolSize()).thenReturn(1);
+        BDDMockito.when(executor.getQueueCapacity()).thenReturn(1);
+        taskImportService = new TaskImportService(taskService, summaryService, registry, mapper, validator,
+                new ObjectMapper(), transactionManager, executor, MAX_BYTES, 100, 10);
+    }
+
+    private TaskImportJob start(String content) throws IOException {
+        return taskImportService.start(1L, TaskFileFormat.NDJSON,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("start throws TooManyRequestsException without reading the body when every slot is taken")
+    void start_ThrowsTooManyRequests_WithoutReadingBody_WhenEverySlotIsTaken() throws IOException {
+        start(SMALL_FILE);
+        start(SMALL_FILE);
+        var body = new ByteArrayInputStream(SMALL_FILE.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThatThrownBy(() -> taskImportService.start(1L, TaskFileFormat.NDJSON, body))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        Assertions.assertThat(body.available()).isEqualTo(SMALL_FILE.length());
+        BDDMockito.verify(executor, BDDMockito.times(2)).execute(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("start throws PayloadTooLargeException and frees the slot when the body exceeds max-bytes")
+    void start_ThrowsPayloadTooLarge_AndFreesSlot_WhenBodyExceedsMaxBytes() throws IOException {
+        String largeFile = SMALL_FILE.repeat(3);
+
+        Assertions.assertThatThrownBy(() -> start(largeFile)).isInstanceOf(PayloadTooLargeException.class);
+        Assertions.assertThatThrownBy(() -> start(largeFile)).isInstanceOf(PayloadTooLargeException.class);
+
+        TaskImportJob first = start(SMALL_FILE);
+        TaskImportJob second = start(SMALL_FILE);
+        Assertions.assertThat(registry.find(first.getId())).contains(first);
+        Assertions.assertThat(registry.find(second.getId())).contains(second);
+        BDDMockito.verify(executor, BDDMockito.times(2)).execute(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("start frees the slot and forgets the job when the executor rejects it")
+    void start_FreesSlot_WhenExecutorRejects() throws IOException {
+        BDDMockito.doThrow(new TaskRejectedException("Fila cheia"))
+                .doNothing()
+                .when(executor).execute(ArgumentMatchers.any());
+
+        Assertions.assertThatThrownBy(() -> start(SMALL_FILE)).isInstanceOf(TooManyRequestsException.class);
+
+        start(SMALL_FILE);
+        start(SMALL_FILE);
+        BDDMockito.verify(executor, BDDMockito.times(3)).execute(ArgumentMatchers.any());
+    }
+}
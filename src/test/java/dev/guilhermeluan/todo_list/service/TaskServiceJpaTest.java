@@ -0,0 +1,774 @@
+package dev.guilhermeluan.todo_list.service;
+
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
+import dev.guilhermeluan.todo_list.infra.cache.UserCache;
+import dev.guilhermeluan.todo_list.infra.scheduling.SubtaskCounterReconciliationJob;
+import dev.guilhermeluan.todo_list.dto.SubtaskCountersDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkDeleteRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkFilterDTO;
+import dev.guilhermeluan.todo_list.dto.TaskBulkStatusRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskFilter;
+import dev.guilhermeluan.todo_list.dto.TaskGetResponseDTO;
+import dev.guilhermeluan.todo_list.dto.TaskLookupRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPatchRequestDTO;
+import dev.guilhermeluan.todo_list.dto.TaskStatsResponseDTO;
+import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
+import dev.guilhermeluan.todo_list.exceptions.ForbiddenException;
+import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.exceptions.PreconditionFailedException;
+import dev.guilhermeluan.todo_list.model.Priority;
+import dev.guilhermeluan.todo_list.model.Task;
+import dev.guilhermeluan.todo_list.model.TaskMapperImpl;
+import dev.guilhermeluan.todo_list.model.TaskStatus;
+import dev.guilhermeluan.todo_list.model.User;
+import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.utils.TaskUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskBatchService.class, TaskSummaryService.class, UserService.class, UserCache.class, TaskCache.class, TaskMapperImpl.class, LocalValidatorFactoryBean.class})
+class TaskServiceJpaTest {
+    private static final int PARENT_TASKS = 150;
+    private static final int SUBTASKS_PER_PARENT = 3;
+    private static final ZonedDateTime BASE_DUE_DATE = ZonedDateTime.of(2030, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskBatchService taskBatchService;
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+    @Autowired
+    private TaskMapperImpl taskMapper;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final TaskUtils taskUtils = new TaskUtils();
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("query-count-user", "password", UserRole.USER);
+        entityManager.persist(user);
+
+        for (int i = 0; i < PARENT_TASKS; i++) {
+            Task parent = taskUtils.newTaskToSave();
+            parent.setUser(user);
+            parent.setPriority(Priority.values()[i % Priority.values().length]);
+            parent.setDueDate(i % 4 == 0 ? null : BASE_DUE_DATE.plusDays(i % 7));
+            parent.setSubtaskTotal(SUBTASKS_PER_PARENT);
+            entityManager.persist(parent);
+
+            for (int j = 0; j < SUBTASKS_PER_PARENT; j++) {
+                Task subTask = taskUtils.newTaskToSave();
+                subTask.setUser(user);
+                subTask.setIsSubTask(true);
+                subTask.setParentTask(parent);
+                entityManager.persist(subTask);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long countStatementsForPageOf(int size) {
+        entityManager.clear();
+        statistics.clear();
+
+        var page = taskService.findAllProjected(user.getId(), TaskFilter.NONE, PageRequest.of(0, size, Sort.by("id")));
+
+        Assertions.assertThat(page.getContent()).hasSize(size);
+        Assertions.assertThat(page.getContent())
+                .allSatisfy(task -> Assertions.assertThat(task.subtasks()).hasSize(SUBTASKS_PER_PARENT));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("findAllProjected loads a page of tasks and their subtasks with a constant number of statements")
+    void findAllProjected_UsesConstantNumberOfStatements_RegardlessOfPageSize() {
+        long statementsForTen = countStatementsForPageOf(10);
+        long statementsForHundred = countStatementsForPageOf(100);
+
+        Assertions.assertThat(statementsForHundred).isEqualTo(statementsForTen);
+        Assertions.assertThat(statementsForHundred).isLessThanOrEqualTo(3);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findAllProjected returns the same content as mapping the task entities")
+    void findAllProjected_ReturnsSameContentAsEntityMapping() {
+        var pageable = PageRequest.of(1, 100, Sort.by(Sort.Direction.DESC, "id"));
+        var expected = entityManager.createQuery(
+                        "select t from Task t where t.user.id = :userId and t.isSubTask = false order by t.id desc", Task.class)
+                .setParameter("userId", user.getId())
+                .setFirstResult(100)
+                .setMaxResults(100)
+                .getResultList()
+                .stream()
+                .map(taskMapper::toTaskResponseDTO)
+                .toList();
+
+        var projected = taskService.findAllProjected(user.getId(), TaskFilter.NONE, pageable);
+
+        Assertions.assertThat(projected.getContent()).isEqualTo(expected);
+        Assertions.assertThat(projected.getTotalElements()).isEqualTo(PARENT_TASKS);
+    }
+
+    private List<Long> collectIdsByCursor(String sort, Sort.Direction direction, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        boolean hasNext = true;
+
+        while (hasNext) {
+            var page = taskService.findAllByCursor(user.getId(), TaskFilter.NONE, sort, direction, cursor, size);
+            page.content().stream().map(TaskGetResponseDTO::id).forEach(ids::add);
+            hasNext = page.hasNext();
+            cursor = page.nextCursor();
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("findAllByCursor walks every task in the same order as offset paging, including null and repeated sort keys")
+    void findAllByCursor_ReturnsSameOrderAsOffsetPaging_WhenSortKeysHaveNullsAndTies() {
+        for (String sort : List.of("id", "dueDate", "priority")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                var expected = taskService.findAllProjected(user.getId(), TaskFilter.NONE,
+                                PageRequest.of(0, PARENT_TASKS, Sort.by(direction, sort).and(Sort.by(direction, "id"))))
+                        .map(TaskGetResponseDTO::id)
+                        .getContent();
+
+                Assertions.assertThat(collectIdsByCursor(sort, direction, 7))
+                        .as("sort=%s direction=%s", sort, direction)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("findAllByCursor does not run a count query")
+    void findAllByCursor_DoesNotRunCountQuery_WhenPaging() {
+        statistics.clear();
+
+        var page = taskService.findAllByCursor(user.getId(), TaskFilter.NONE, "id", Sort.Direction.ASC, "", 10);
+
+        Assertions.assertThat(page.hasNext()).isTrue();
+        Assertions.assertThat(page.content()).hasSize(10);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("persisting a parent with many subtasks sends the inserts in JDBC batches")
+    void persist_BatchesInserts_WhenParentHasManySubtasks() {
+        statistics.clear();
+
+        Task parent = taskUtils.newTaskToSave();
+        parent.setUser(user);
+        entityManager.persist(parent);
+        for (int i = 0; i < 200; i++) {
+            Task subTask = taskUtils.newTaskToSave();
+            subTask.setUser(user);
+            subTask.setIsSubTask(true);
+            subTask.setParentTask(parent);
+            entityManager.persist(subTask);
+        }
+        entityManager.flush();
+
+        Assertions.assertThat(statistics.getEntityInsertCount()).isEqualTo(201);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("saveAll persists parents with nested subtasks linked to their parent and owner")
+    void saveAll_PersistsNestedSubtasks_WhenParentsHaveSubtasks() {
+        List<Task> parents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Task parent = taskUtils.newTaskToSave();
+            parent.setUser(user);
+            for (int j = 0; j < 5; j++) {
+                parent.getSubTasks().add(taskUtils.newTaskToSave());
+            }
+            parents.add(parent);
+        }
+        statistics.clear();
+
+        var saved = taskService.saveAll(parents);
+        entityManager.flush();
+
+        Assertions.assertThat(saved).extracting(Task::getId).doesNotContainNull().isSorted();
+        Assertions.assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+
+        entityManager.clear();
+        var subTasks = taskService.findByIdOrThrowNotFound(saved.getFirst().getId()).getSubTasks();
+        Assertions.assertThat(subTasks).hasSize(5)
+                .allSatisfy(subTask -> {
+                    Assertions.assertThat(subTask.isSubTask()).isTrue();
+                    Assertions.assertThat(subTask.getUser().getId()).isEqualTo(user.getId());
+                });
+    }
+
+    private List<Long> findSubTaskIds(Long parentId) {
+        return entityManager.createQuery("select t.id from Task t where t.parentTask.id = :parentId order by t.id", Long.class)
+                .setParameter("parentId", parentId)
+                .getResultList();
+    }
+
+    @Test
+    @DisplayName("updateStatus completes owned tasks with set-based statements and rejects the ineligible ones")
+    void updateStatus_UpdatesEligibleTasksWithConstantStatements_WhenIdsAreSent() {
+        List<Long> parentIds = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(2)
+                .getResultList();
+        Long completableParentId = parentIds.get(0);
+        Long blockedParentId = parentIds.get(1);
+        List<Long> subTaskIds = findSubTaskIds(completableParentId);
+
+        User anotherUser = new User("another-user", "password", UserRole.USER);
+        entityManager.persist(anotherUser);
+        Task anotherUsersTask = taskUtils.newTaskToSave();
+        anotherUsersTask.setUser(anotherUser);
+        entityManager.persist(anotherUsersTask);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> ids = new ArrayList<>(subTaskIds);
+        ids.addAll(List.of(completableParentId, blockedParentId, anotherUsersTask.getId(), Long.MAX_VALUE));
+        statistics.clear();
+
+        var response = taskBatchService.updateStatus(new TaskBulkStatusRequestDTO(ids, null, TaskStatus.DONE), user.getId());
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        Assertions.assertThat(response.affectedIds())
+                .containsAll(subTaskIds)
+                .contains(completableParentId)
+                .hasSize(subTaskIds.size() + 1);
+        Assertions.assertThat(response.rejectedIds())
+                .containsExactly(blockedParentId, anotherUsersTask.getId(), Long.MAX_VALUE);
+
+        entityManager.clear();
+        Assertions.assertThat(entityManager.find(Task.class, completableParentId).getStatus()).isEqualTo(TaskStatus.DONE);
+        Assertions.assertThat(entityManager.find(Task.class, blockedParentId).getStatus()).isEqualTo(TaskStatus.TO_DO);
+        Assertions.assertThat(entityManager.find(Task.class, anotherUsersTask.getId()).getStatus()).isEqualTo(TaskStatus.TO_DO);
+    }
+
+    @Test
+    @DisplayName("updateStatus rejects the parents with pending subtasks when a filter is sent")
+    void updateStatus_RejectsParentsWithPendingSubtasks_WhenFilterIsSent() {
+        var filter = new TaskBulkFilterDTO(null, Priority.HIGH, null);
+
+        var response = taskBatchService.updateStatus(new TaskBulkStatusRequestDTO(null, filter, TaskStatus.DONE), user.getId());
+
+        Assertions.assertThat(response.affected()).isZero();
+        Assertions.assertThat(response.rejectedIds()).hasSize(PARENT_TASKS / Priority.values().length);
+
+        var inProgress = taskBatchService.updateStatus(new TaskBulkStatusRequestDTO(null, filter, TaskStatus.IN_PROGRESS), user.getId());
+
+        Assertions.assertThat(inProgress.affected()).isEqualTo(PARENT_TASKS / Priority.values().length);
+        Assertions.assertThat(inProgress.rejectedIds()).isEmpty();
+    }
+
+    private long countTasksOf(Long userId) {
+        return entityManager.createQuery("select count(t) from Task t where t.user.id = :userId", Long.class)
+                .setParameter("userId", userId)
+                .getSingleResult();
+    }
+
+    @Test
+    @DisplayName("delete removes a parent with 1,000 subtasks with the same number of statements as a parent with 3")
+    void delete_UsesConstantNumberOfStatements_RegardlessOfSubtaskCount() {
+        Task largeParent = taskUtils.newTaskToSave();
+        largeParent.setUser(user);
+        largeParent.setSubtaskTotal(1000);
+        entityManager.persist(largeParent);
+        for (int i = 0; i < 1000; i++) {
+            Task subTask = taskUtils.newTaskToSave();
+            subTask.setUser(user);
+            subTask.setIsSubTask(true);
+            subTask.setParentTask(largeParent);
+            entityManager.persist(subTask);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Long smallParentId = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false and t.id <> :id order by t.id", Long.class)
+                .setParameter("id", largeParent.getId())
+                .setMaxResults(1)
+                .getSingleResult();
+        long tasksBefore = countTasksOf(user.getId());
+
+        statistics.clear();
+        taskService.delete(smallParentId, user.getId(), null);
+        long statementsForSmallParent = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        taskService.delete(largeParent.getId(), user.getId(), null);
+        long statementsForLargeParent = statistics.getPrepareStatementCount();
+
+        // Inclui a consulta dos ids das subtarefas para removê-las do cache
+        Assertions.assertThat(statementsForLargeParent).isEqualTo(statementsForSmallParent).isEqualTo(5);
+        Assertions.assertThat(countTasksOf(user.getId())).isEqualTo(tasksBefore - (1 + SUBTASKS_PER_PARENT) - 1001);
+    }
+
+    @Test
+    @DisplayName("bulk delete removes the user's tasks with their subtasks and rejects the others")
+    void bulkDelete_DeletesOwnedTasksAndRejectsTheOthers_WhenIdsAreSent() {
+        List<Long> parentIds = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(2)
+                .getResultList();
+        User anotherUser = new User("another-user", "password", UserRole.USER);
+        entityManager.persist(anotherUser);
+        Task anotherUsersTask = taskUtils.newTaskToSave();
+        anotherUsersTask.setUser(anotherUser);
+        entityManager.persist(anotherUsersTask);
+        entityManager.flush();
+        entityManager.clear();
+        long tasksBefore = countTasksOf(user.getId());
+
+        List<Long> ids = new ArrayList<>(parentIds);
+        ids.addAll(List.of(anotherUsersTask.getId(), Long.MAX_VALUE));
+        statistics.clear();
+
+        var response = taskBatchService.delete(new TaskBulkDeleteRequestDTO(ids, null), user.getId());
+
+        // Inclui a consulta dos ids das subtarefas para removê-las do cache
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        Assertions.assertThat(response.deletedIds()).containsExactlyElementsOf(parentIds);
+        Assertions.assertThat(response.rejectedIds()).containsExactly(anotherUsersTask.getId(), Long.MAX_VALUE);
+        Assertions.assertThat(countTasksOf(user.getId())).isEqualTo(tasksBefore - 2 * (1 + SUBTASKS_PER_PARENT));
+        Assertions.assertThat(countTasksOf(anotherUser.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("lookup returns the user's tasks in request order and reports missing and forbidden ids")
+    void lookup_ReturnsTasksInRequestOrder_AndReportsMissingAndForbiddenIds() {
+        List<Long> parentIds = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(3)
+                .getResultList();
+        Long subTaskId = findSubTaskIds(parentIds.getFirst()).getFirst();
+        User anotherUser = new User("another-user", "password", UserRole.USER);
+        entityManager.persist(anotherUser);
+        Task anotherUsersTask = taskUtils.newTaskToSave();
+        anotherUsersTask.setUser(anotherUser);
+        entityManager.persist(anotherUsersTask);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> ids = List.of(parentIds.get(2), Long.MAX_VALUE, subTaskId, anotherUsersTask.getId(), parentIds.get(0), parentIds.get(2));
+        statistics.clear();
+
+        var response = taskBatchService.lookup(new TaskLookupRequestDTO(ids), user.getId());
+
+        // Tarefas, subtarefas em lote e a verificação dos ids não encontrados
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        Assertions.assertThat(response.tasks()).extracting(TaskGetResponseDTO::id)
+                .containsExactly(parentIds.get(2), subTaskId, parentIds.get(0));
+        Assertions.assertThat(response.tasks().getFirst().subtasks()).hasSize(SUBTASKS_PER_PARENT);
+        Assertions.assertThat(response.tasks().get(1).parentTaskId()).isEqualTo(parentIds.getFirst());
+        Assertions.assertThat(response.missingIds()).containsExactly(Long.MAX_VALUE);
+        Assertions.assertThat(response.forbiddenIds()).containsExactly(anotherUsersTask.getId());
+    }
+
+    @Test
+    @DisplayName("updateStatus looks the task up by id and owner in a single statement")
+    void updateStatus_LooksUpTaskByIdAndOwnerInOneStatement_WhenUserOwnsTask() {
+        Long taskId = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        statistics.clear();
+
+        taskService.updateStatus(TaskStatus.IN_PROGRESS, taskId, user.getId(), null);
+        entityManager.flush();
+
+        // Busca, incremento do resumo e UPDATE da tarefa
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        entityManager.clear();
+        Assertions.assertThat(entityManager.find(Task.class, taskId).getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("updateStatus distinguishes a task of another user from a missing task")
+    void updateStatus_ThrowsForbiddenOrNotFound_WhenUserDoesNotOwnTaskOrTaskIsMissing() {
+        User anotherUser = new User("another-user", "password", UserRole.USER);
+        entityManager.persist(anotherUser);
+        Task anotherUsersTask = taskUtils.newTaskToSave();
+        anotherUsersTask.setUser(anotherUser);
+        entityManager.persist(anotherUsersTask);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskService.updateStatus(TaskStatus.DONE, anotherUsersTask.getId(), user.getId(), null))
+                .isInstanceOf(ForbiddenException.class);
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskService.updateStatus(TaskStatus.DONE, Long.MAX_VALUE, user.getId(), null))
+                .isInstanceOf(NotFoundException.class);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("patch updates only the sent fields without loading the subtasks")
+    void patch_UpdatesOnlySentFields_WithoutLoadingSubtasks() {
+        Task task = entityManager.createQuery(
+                        "select t from Task t where t.isSubTask = false and t.dueDate is not null order by t.id", Task.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        entityManager.clear();
+        statistics.clear();
+
+        var patch = new TaskPatchRequestDTO();
+        patch.setDueDate(Optional.empty());
+        patch.setPriority(Optional.of(Priority.LOW));
+        taskService.patch(task.getId(), patch, user.getId(), null);
+        entityManager.flush();
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        Assertions.assertThat(statistics.getCollectionLoadCount()).isZero();
+        entityManager.clear();
+        Task patched = entityManager.find(Task.class, task.getId());
+        Assertions.assertThat(patched.getPriority()).isEqualTo(Priority.LOW);
+        Assertions.assertThat(patched.getDueDate()).isNull();
+        Assertions.assertThat(patched.getTitle()).isEqualTo(task.getTitle());
+        Assertions.assertThat(patched.getStatus()).isEqualTo(task.getStatus());
+    }
+
+    @Test
+    @DisplayName("the ETag of a task changes when a subtask changes and writes with the old ETag are rejected")
+    void eTag_ChangesWhenSubtaskChanges_AndStaleWritesAreRejected() {
+        Long parentId = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        Long subTaskId = findSubTaskIds(parentId).getFirst();
+
+        String originalETag = TaskETag.of(taskService.findProjectedById(parentId, user.getId()));
+        Assertions.assertThat(TaskETag.of(entityManager.find(Task.class, parentId))).isEqualTo(originalETag);
+        entityManager.clear();
+
+        taskBatchService.updateStatus(new TaskBulkStatusRequestDTO(List.of(subTaskId), null, TaskStatus.IN_PROGRESS), user.getId());
+        String currentETag = TaskETag.of(taskService.findProjectedById(parentId, user.getId()));
+
+        Assertions.assertThat(currentETag).isNotEqualTo(originalETag);
+        var patch = new TaskPatchRequestDTO();
+        patch.setPriority(Optional.of(Priority.LOW));
+        Assertions.assertThatException()
+                .isThrownBy(() -> taskService.patch(parentId, patch, user.getId(), originalETag))
+                .isInstanceOf(PreconditionFailedException.class);
+        Assertions.assertThatNoException()
+                .isThrownBy(() -> taskService.patch(parentId, patch, user.getId(), currentETag));
+    }
+
+    private Task findParent(Long parentId) {
+        entityManager.clear();
+        return entityManager.find(Task.class, parentId);
+    }
+
+    @Test
+    @DisplayName("subtask counters follow subtask creation, status changes and deletion")
+    void subtaskCounters_FollowSubtaskLifecycle_WhenSubtasksChange() {
+        Long parentId = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        List<Long> subTaskIds = findSubTaskIds(parentId);
+
+        Task newSubTask = taskUtils.newTaskToSave();
+        newSubTask.setStatus(TaskStatus.DONE);
+        newSubTask.setUser(user);
+        Long newSubTaskId = taskService.createSubTask(parentId, newSubTask, user.getId()).getId();
+        Assertions.assertThat(findParent(parentId)).extracting(Task::getSubtaskTotal, Task::getSubtaskDone).containsExactly(4, 1);
+
+        taskService.updateStatus(TaskStatus.DONE, subTaskIds.get(0), user.getId(), null);
+        taskBatchService.updateStatus(new TaskBulkStatusRequestDTO(subTaskIds.subList(1, 3), null, TaskStatus.DONE), user.getId());
+        Assertions.assertThat(findParent(parentId)).extracting(Task::getSubtaskTotal, Task::getSubtaskDone).containsExactly(4, 4);
+        Assertions.assertThat(taskService.findProjectedById(parentId, user.getId()))
+                .extracting(TaskGetResponseDTO::subtaskTotal, TaskGetResponseDTO::subtaskDone)
+                .containsExactly(4, 4);
+
+        var patch = new TaskPatchRequestDTO();
+        patch.setStatus(Optional.of(TaskStatus.IN_PROGRESS));
+        taskService.patch(subTaskIds.get(0), patch, user.getId(), null);
+        taskService.delete(newSubTaskId, user.getId(), null);
+        taskBatchService.delete(new TaskBulkDeleteRequestDTO(List.of(subTaskIds.get(1)), null), user.getId());
+        entityManager.flush();
+
+        Assertions.assertThat(findParent(parentId)).extracting(Task::getSubtaskTotal, Task::getSubtaskDone).containsExactly(2, 1);
+        Assertions.assertThat(new SubtaskCounterReconciliationJob(taskService, 50, false).reconcile()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("update keeps the subtask counters of a parent and still rejects DONE while its subtasks are pending")
+    void update_KeepsSubtaskCounters_WhenParentIsReplaced() {
+        Long parentId = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        Task replacement = taskUtils.newTaskToSave();
+        replacement.setId(parentId);
+        replacement.setTitle("Replaced title");
+
+        taskService.update(replacement, user.getId(), null);
+
+        Assertions.assertThat(taskService.findByIdOrThrowNotFound(parentId))
+                .extracting(Task::getSubtaskTotal, Task::getSubtaskDone)
+                .containsExactly(SUBTASKS_PER_PARENT, 0);
+        Task done = taskUtils.newTaskToSave();
+        done.setId(parentId);
+        done.setStatus(TaskStatus.DONE);
+        Assertions.assertThatThrownBy(() -> taskService.update(done, user.getId(), null))
+                .isInstanceOf(BadRequestException.class);
+        Assertions.assertThat(findParent(parentId))
+                .extracting(Task::getTitle, Task::getSubtaskTotal)
+                .containsExactly("Replaced title", SUBTASKS_PER_PARENT);
+    }
+
+    @Test
+    @DisplayName("reconciliation job reports and fixes counters that drifted from the actual subtasks")
+    void reconcile_ReportsAndFixesDrift_WhenCountersDiverge() {
+        List<Long> parentIds = entityManager.createQuery(
+                        "select t.id from Task t where t.isSubTask = false order by t.id", Long.class)
+                .setMaxResults(2)
+                .getResultList();
+        entityManager.createNativeQuery("update task set subtask_total = 7, subtask_done = 5 where id in (:ids)")
+                .setParameter("ids", parentIds)
+                .executeUpdate();
+
+        var drifts = new SubtaskCounterReconciliationJob(taskService, 7, true).reconcile();
+
+        Assertions.assertThat(drifts).extracting(SubtaskCountersDTO::taskId).containsExactlyElementsOf(parentIds);
+        Assertions.assertThat(new SubtaskCounterReconciliationJob(taskService, 7, false).reconcile()).isEmpty();
+        Assertions.assertThat(findParent(parentIds.getFirst()))
+                .extracting(Task::getSubtaskTotal, Task::getSubtaskDone)
+                .containsExactly(SUBTASKS_PER_PARENT, 0);
+    }
+
+    private TaskStatsResponseDTO expectedStatsOf(Long userId) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        List<Task> tasks = entityManager.createQuery("select t from Task t where t.user.id = :userId and t.isSubTask = false", Task.class)
+                .setParameter("userId", userId)
+                .getResultList();
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, tasks.stream().filter(task -> task.getStatus() == status).count());
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, tasks.stream().filter(task -> task.getPriority() == priority).count());
+        }
+        return new TaskStatsResponseDTO(tasks.size(), byStatus, byPriority, 0, 0);
+    }
+
+    @Test
+    @DisplayName("getStats follows the task writes of every endpoint without scanning the tasks")
+    void getStats_MatchesActualCounts_AfterTaskWrites() {
+        User statsUser = new User("stats-user", "password", UserRole.USER);
+        entityManager.persist(statsUser);
+        entityManager.flush();
+
+        List<Task> created = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Task task = taskUtils.newTaskToSave();
+            task.setUser(statsUser);
+            task.setPriority(Priority.values()[i % Priority.values().length]);
+            task.getSubTasks().add(taskUtils.newTaskToSave());
+            created.add(task);
+        }
+        List<Long> ids = taskService.saveAll(created).stream().map(Task::getId).toList();
+        taskService.updateStatus(TaskStatus.IN_PROGRESS, ids.get(0), statsUser.getId(), null);
+        var patch = new TaskPatchRequestDTO();
+        patch.setPriority(Optional.of(Priority.HIGH));
+        taskService.patch(ids.get(1), patch, statsUser.getId(), null);
+        taskBatchService.updateStatus(new TaskBulkStatusRequestDTO(null, new TaskBulkFilterDTO(null, Priority.MEDIUM, null), TaskStatus.IN_PROGRESS), statsUser.getId());
+        taskService.delete(ids.get(2), statsUser.getId(), null);
+        taskBatchService.delete(new TaskBulkDeleteRequestDTO(List.of(ids.get(3)), null), statsUser.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        var expected = expectedStatsOf(statsUser.getId());
+        statistics.clear();
+        var actual = taskSummaryService.getStats(statsUser.getId());
+
+        Assertions.assertThat(actual).usingRecursiveComparison().comparingOnlyFields("total", "byStatus", "byPriority")
+                .isEqualTo(expected);
+        Assertions.assertThat(actual.total()).isEqualTo(4);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getStats counts the overdue tasks that are not done and the tasks due today")
+    void getStats_CountsOverdueAndDueToday_WhenTasksHaveDueDates() {
+        User statsUser = new User("due-user", "password", UserRole.USER);
+        entityManager.persist(statsUser);
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        ZonedDateTime endOfToday = now.toLocalDate().plusDays(1).atStartOfDay(ZoneOffset.UTC).minusNanos(1000);
+        List<ZonedDateTime> dueDates = List.of(now.minusDays(3), now.minusDays(3), now.minusSeconds(1), endOfToday, now.plusDays(2));
+        for (int i = 0; i < dueDates.size(); i++) {
+            Task task = taskUtils.newTaskToSave();
+            task.setUser(statsUser);
+            task.setDueDate(dueDates.get(i));
+            task.setStatus(i == 1 ? TaskStatus.DONE : TaskStatus.TO_DO);
+            taskService.save(task);
+        }
+
+        var stats = taskSummaryService.getStats(statsUser.getId());
+
+        Assertions.assertThat(stats.total()).isEqualTo(5);
+        Assertions.assertThat(stats.overdue()).isEqualTo(2);
+        Assertions.assertThat(stats.dueToday()).isEqualTo(now.toLocalDate().equals(now.minusSeconds(1).toLocalDate()) ? 2 : 1);
+    }
+
+    @Test
+    @DisplayName("findAllProjected with q returns only matching top-level tasks ordered by relevance and combines with filters")
+    void findAllProjected_ReturnsMatchingTasksByRelevance_WhenQIsProvided() {
+        User searchUser = new User("search-user", "password", UserRole.USER);
+        entityManager.persist(searchUser);
+        List<Long> ids = new ArrayList<>();
+        String[][] contents = {
+                {"Review invoice", "Check the invoice numbers", "HIGH"},
+                {"Pay supplier", "Attach the invoice to the payment", "HIGH"},
+                {"Invoice archive", null, "LOW"},
+                {"Book flight", "Business trip", "HIGH"}
+        };
+        for (String[] content : contents) {
+            Task task = taskUtils.newTaskToSave();
+            task.setUser(searchUser);
+            task.setTitle(content[0]);
+            task.setDescription(content[1]);
+            task.setPriority(Priority.valueOf(content[2]));
+            entityManager.persist(task);
+            ids.add(task.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        var byRelevance = taskService.findAllProjected(searchUser.getId(), new TaskFilter(null, null, null, null, null, null, "invoice"),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, TaskService.RELEVANCE_SORT)));
+        var filtered = taskService.findAllProjected(searchUser.getId(), new TaskFilter(null, Priority.HIGH, null, null, null, null, " invoice "),
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        Assertions.assertThat(byRelevance.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(byRelevance.getContent()).extracting(TaskGetResponseDTO::id)
+                .containsExactly(ids.get(2), ids.get(0));
+        Assertions.assertThat(filtered.getContent()).extracting(TaskGetResponseDTO::id)
+                .containsExactly(ids.get(0), ids.get(1));
+    }
+
+    @Test
+    @DisplayName("findAllProjected throws BadRequestException when sorting by relevance without q")
+    void findAllProjected_ThrowsBadRequest_WhenSortingByRelevanceWithoutQ() {
+        Assertions.assertThatThrownBy(() -> taskService.findAllProjected(user.getId(), TaskFilter.NONE,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, TaskService.RELEVANCE_SORT))))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("findAllProjected throws BadRequestException when relevance is sorted ascending or combined with other fields")
+    void findAllProjected_ThrowsBadRequest_WhenRelevanceIsAscendingOrCombined() {
+        var filter = new TaskFilter(null, null, null, null, null, null, "deploy");
+
+        Assertions.assertThatThrownBy(() -> taskService.findAllProjected(user.getId(), filter,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, TaskService.RELEVANCE_SORT))))
+                .isInstanceOf(BadRequestException.class);
+        Assertions.assertThatThrownBy(() -> taskService.findAllProjected(user.getId(), filter,
+                        PageRequest.of(0, 10, Sort.by(Sort.Order.desc(TaskService.RELEVANCE_SORT), Sort.Order.asc("title")))))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private List<Long> persistTasksDueAt(User owner, List<ZonedDateTime> dueDates, List<TaskStatus> statuses) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < dueDates.size(); i++) {
+            Task task = taskUtils.newTaskToSave();
+            task.setUser(owner);
+            task.setDueDate(dueDates.get(i));
+            task.setStatus(statuses.get(i));
+            entityManager.persist(task);
+            ids.add(task.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    @Test
+    @DisplayName("findAllProjected with dueFrom/dueTo returns the half-open UTC range and dueDate the whole UTC day")
+    void findAllProjected_ReturnsHalfOpenRange_WhenDueFromAndDueToProvided() {
+        User calendarUser = new User("calendar-user", "password", UserRole.USER);
+        entityManager.persist(calendarUser);
+        ZonedDateTime weekStart = ZonedDateTime.of(2030, 1, 7, 0, 0, 0, 0, ZoneOffset.UTC);
+        List<ZonedDateTime> dueDates = new ArrayList<>(List.of(weekStart.minusNanos(1000), weekStart,
+                weekStart.plusDays(7).minusNanos(1000), weekStart.plusDays(7)));
+        dueDates.add(null);
+        List<Long> ids = persistTasksDueAt(calendarUser, dueDates, List.of(TaskStatus.TO_DO, TaskStatus.TO_DO,
+                TaskStatus.TO_DO, TaskStatus.TO_DO, TaskStatus.TO_DO));
+        Sort byId = Sort.by("id");
+
+        var week = taskService.findAllProjected(calendarUser.getId(),
+                new TaskFilter(null, null, null, weekStart.withZoneSameInstant(ZoneOffset.ofHours(-3)), weekStart.plusDays(7), null, null),
+                PageRequest.of(0, 10, byId));
+        var fromOnly = taskService.findAllProjected(calendarUser.getId(),
+                new TaskFilter(null, null, null, weekStart, null, null, null), PageRequest.of(0, 10, byId));
+        var lastDay = taskService.findAllProjected(calendarUser.getId(),
+                TaskFilter.of(null, null, weekStart.plusDays(6).toLocalDate()), PageRequest.of(0, 10, byId));
+
+        Assertions.assertThat(week.getContent()).extracting(TaskGetResponseDTO::id).containsExactly(ids.get(1), ids.get(2));
+        Assertions.assertThat(fromOnly.getContent()).extracting(TaskGetResponseDTO::id).containsExactly(ids.get(1), ids.get(2), ids.get(3));
+        Assertions.assertThat(lastDay.getContent()).extracting(TaskGetResponseDTO::id).containsExactly(ids.get(2));
+    }
+
+    @Test
+    @DisplayName("findAllProjected with overdue returns the past-due tasks that are not done, and false returns the rest")
+    void findAllProjected_ReturnsOverdueTasks_WhenOverdueIsProvided() {
+        User overdueUser = new User("overdue-user", "password", UserRole.USER);
+        entityManager.persist(overdueUser);
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        List<ZonedDateTime> dueDates = new ArrayList<>(List.of(now.minusDays(1), now.minusDays(1), now.minusDays(2), now.plusDays(1)));
+        dueDates.add(null);
+        List<Long> ids = persistTasksDueAt(overdueUser, dueDates, Arrays.asList(TaskStatus.TO_DO, TaskStatus.DONE, null,
+                TaskStatus.TO_DO, TaskStatus.TO_DO));
+        Sort byId = Sort.by("id");
+
+        var overdue = taskService.findAllProjected(overdueUser.getId(),
+                new TaskFilter(null, null, null, null, null, true, null), PageRequest.of(0, 10, byId));
+        var notOverdue = taskService.findAllProjected(overdueUser.getId(),
+                new TaskFilter(null, null, null, null, null, false, null), PageRequest.of(0, 10, byId));
+
+        Assertions.assertThat(overdue.getContent()).extracting(TaskGetResponseDTO::id).containsExactly(ids.get(0), ids.get(2));
+        Assertions.assertThat(notOverdue.getContent()).extracting(TaskGetResponseDTO::id).containsExactly(ids.get(1), ids.get(3), ids.get(4));
+    }
+}
@@ -1,12 +1,18 @@
 package dev.guilhermeluan.todo_list.service;
 
+import dev.guilhermeluan.todo_list.dto.SubtaskCountersDTO;
+import dev.guilhermeluan.todo_list.dto.TaskPatchRequestDTO;
 import dev.guilhermeluan.todo_list.exceptions.BadRequestException;
 import dev.guilhermeluan.todo_list.exceptions.ForbiddenException;
 import dev.guilhermeluan.todo_list.exceptions.NotFoundException;
+import dev.guilhermeluan.todo_list.exceptions.PreconditionFailedException;
+import dev.guilhermeluan.todo_list.infra.cache.TaskCache;
+import dev.guilhermeluan.todo_list.model.Priority;
 import dev.guilhermeluan.todo_list.model.Task;
 import dev.guilhermeluan.todo_list.model.TaskStatus;
 import dev.guilhermeluan.todo_list.model.User;
 import dev.guilhermeluan.todo_list.model.UserRole;
+import dev.guilhermeluan.todo_list.repository.TaskProjectionRepository.TaskState;
 import dev.guilhermeluan.todo_list.repository.TaskRepository;
 import dev.guilhermeluan.todo_list.utils.TaskUtils;
 import dev.guilhermeluan.todo_list.utils.UserUtils;
@@ -15,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -34,6 +41,10 @@ class TaskServiceTest {
     private TaskRepository taskRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private TaskSummaryService taskSummaryService;
+    @Mock
+    private TaskCache taskCache;
 
     private List<Task> tasks;
     private User testUser;
@@ -79,6 +90,7 @@ class TaskServiceTest {
     @DisplayName("save saves a task when successful")
     void save_CreatesTasks_WhenSuccessful() {
         var taskToSave = taskUtils.newTaskToSave();
+        taskToSave.setUser(testUser);
 
         BDDMockito.when(taskRepository.save(taskToSave)).thenReturn(taskToSave);
 
@@ -86,6 +98,8 @@ class TaskServiceTest {
 
         Assertions.assertThat(taskSaved).isEqualTo(taskToSave);
         Mockito.verify(taskRepository, Mockito.times(1)).save(taskToSave);
+        Mockito.verify(taskSummaryService, Mockito.times(1))
+                .increment(testUser.getId(), TaskSummaryDelta.added(taskToSave.getStatus(), taskToSave.getPriority()));
     }
 
     @Test
@@ -95,7 +109,7 @@ class TaskServiceTest {
         var parentTaskId = parentTask.getId();
         var subTaskToCreate = tasks.get(1);
 
-        BDDMockito.when(taskRepository.findById(parentTaskId)).thenReturn(Optional.of(parentTask));
+        BDDMockito.when(taskRepository.findByIdAndUserId(parentTaskId, testUser.getId())).thenReturn(Optional.of(parentTask));
         BDDMockito.when(taskRepository.save(subTaskToCreate)).thenReturn(subTaskToCreate);
 
         var subTaskCreated = taskService.createSubTask( parentTaskId, subTaskToCreate, testUser.getId());
@@ -105,7 +119,7 @@ class TaskServiceTest {
         Assertions.assertThat(subTaskCreated.isSubTask()).isTrue();
         Assertions.assertThat(parentTask.getSubTasks()).contains(subTaskToCreate);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(parentTaskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(parentTaskId, testUser.getId());
         Mockito.verify(taskRepository, Mockito.times(1)).save(subTaskToCreate);
 
     }
@@ -120,13 +134,13 @@ class TaskServiceTest {
 
         parentTask.setIsSubTask(true); // Simulating that the parent task is a subtask
 
-        BDDMockito.when(taskRepository.findById(parentTaskId)).thenReturn(Optional.of(parentTask));
+        BDDMockito.when(taskRepository.findByIdAndUserId(parentTaskId, testUser.getId())).thenReturn(Optional.of(parentTask));
 
         Assertions.assertThatException().isThrownBy(
                 () -> taskService.createSubTask(parentTaskId, subTaskToCreate, testUser.getId())
         ).isInstanceOf(BadRequestException.class);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(parentTaskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(parentTaskId, testUser.getId());
         Mockito.verify(taskRepository, Mockito.times(0)).save(subTaskToCreate);
     }
 
@@ -134,19 +148,19 @@ class TaskServiceTest {
     @DisplayName("delete a task when successful")
     void delete_DeletesTasks_WhenSuccessful() {
         var taskToDelete = tasks.getFirst();
+        var ids = List.of(taskToDelete.getId());
 
-        BDDMockito.when(taskRepository.findById(taskToDelete.getId()))
-                .thenReturn(Optional.of(taskToDelete));
-
-        BDDMockito.doNothing().when(taskRepository).deleteById(taskToDelete.getId());
+        BDDMockito.when(taskRepository.findStatesForUpdate(ArgumentMatchers.any()))
+                .thenReturn(List.of(new TaskState(taskToDelete.getId(), null, taskToDelete.getStatus(), taskToDelete.getPriority())));
 
         Assertions.assertThatNoException().isThrownBy(
-                () -> taskService.delete(taskToDelete.getId(), testUser.getId())
+                () -> taskService.delete(taskToDelete.getId(), testUser.getId(), null)
         );
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskToDelete.getId());
-        Mockito.verify(taskRepository, Mockito.times(1)).deleteById(taskToDelete.getId());
-
+        Mockito.verify(taskRepository, Mockito.times(1)).deleteSubTasksByParentIdInAndUserId(ids, testUser.getId());
+        Mockito.verify(taskRepository, Mockito.times(1)).deleteByIdInAndUserId(ids, testUser.getId());
+        Mockito.verify(taskRepository, Mockito.never()).findById(taskToDelete.getId());
+        Mockito.verify(taskRepository, Mockito.never()).existsById(taskToDelete.getId());
     }
 
     @Test
@@ -154,17 +168,11 @@ class TaskServiceTest {
     void delete_ThrowsResponseStatusException_WhenTaskIsNotFound() {
         var taskToDelete = tasks.getFirst();
 
-        BDDMockito.when(taskRepository.findById(taskToDelete.getId()))
-                .thenThrow(NotFoundException.class);
-
+        BDDMockito.when(taskRepository.existsById(taskToDelete.getId())).thenReturn(false);
 
         Assertions.assertThatException().isThrownBy(
-                () -> taskService.delete(taskToDelete.getId(), testUser.getId())
+                () -> taskService.delete(taskToDelete.getId(), testUser.getId(), null)
         ).isInstanceOf(NotFoundException.class);
-
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskToDelete.getId());
-        Mockito.verify(taskRepository, Mockito.times(0)).deleteById(taskToDelete.getId());
-
     }
 
     @Test
@@ -177,15 +185,15 @@ class TaskServiceTest {
         var taskId = taskToUpdate.getId();
 
 
-        BDDMockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskToUpdate));
+        BDDMockito.when(taskRepository.findByIdAndUserId(taskId, testUser.getId())).thenReturn(Optional.of(taskToUpdate));
         BDDMockito.when(taskRepository.save(taskToUpdate)).thenReturn(taskToUpdate);
 
-        var taskUpdated = taskService.updateStatus(newStatus, taskId, testUser.getId());
+        var taskUpdated = taskService.updateStatus(newStatus, taskId, testUser.getId(), null);
 
 
         Assertions.assertThat(taskUpdated.getStatus()).isEqualTo(newStatus);
         Mockito.verify(taskRepository, Mockito.times(1)).save(taskToUpdate);
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(taskId, testUser.getId());
     }
 
     @Test
@@ -204,14 +212,49 @@ class TaskServiceTest {
         subTask2.setStatus(TaskStatus.DONE);
 
 
-        BDDMockito.when(taskRepository.findById(parentTaskId)).thenReturn(Optional.of(parentTaskToUpdate));
+        BDDMockito.when(taskRepository.findByIdAndUserId(parentTaskId, testUser.getId())).thenReturn(Optional.of(parentTaskToUpdate));
         BDDMockito.when(taskRepository.save(parentTaskToUpdate)).thenReturn(parentTaskToUpdate);
 
-        var parentTaskUpdated = taskService.updateStatus(newStatus, parentTaskId, testUser.getId());
+        var parentTaskUpdated = taskService.updateStatus(newStatus, parentTaskId, testUser.getId(), null);
 
         Assertions.assertThat(parentTaskUpdated.getStatus()).isEqualTo(newStatus);
         Mockito.verify(taskRepository, Mockito.times(1)).save(parentTaskToUpdate);
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(parentTaskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(parentTaskId, testUser.getId());
+    }
+
+    @Test
+    @DisplayName("updateStatus increments the parent done counter when a subtask is completed")
+    void updateStatus_IncrementsParentDoneCounter_WhenSubTaskIsCompleted() {
+        var parentTask = tasks.getFirst();
+        var subTask = tasks.get(1);
+        subTask.setParentTask(parentTask);
+        subTask.setIsSubTask(true);
+        subTask.setStatus(TaskStatus.IN_PROGRESS);
+
+        BDDMockito.when(taskRepository.findByIdAndUserId(subTask.getId(), testUser.getId())).thenReturn(Optional.of(subTask));
+        BDDMockito.when(taskRepository.save(subTask)).thenReturn(subTask);
+
+        taskService.updateStatus(TaskStatus.DONE, subTask.getId(), testUser.getId(), null);
+
+        Mockito.verify(taskRepository, Mockito.times(1)).incrementSubtaskCounters(List.of(parentTask.getId()), 0, 1);
+    }
+
+    @Test
+    @DisplayName("reconcileSubtaskCountersChunk fixes the counters that drifted and returns the whole chunk")
+    void reconcileSubtaskCountersChunk_FixesDrift_WhenCountersDiverge() {
+        var drifted = new SubtaskCountersDTO(1L, 3, 1, 2L, 2L);
+        var consistent = new SubtaskCountersDTO(2L, 1, 0, 1L, 0L);
+
+        BDDMockito.when(taskRepository.findSubtaskCountersAfter(ArgumentMatchers.eq(0L), ArgumentMatchers.any()))
+                .thenReturn(List.of(drifted, consistent));
+
+        var chunk = taskService.reconcileSubtaskCountersChunk(0L, 10, true);
+
+        Assertions.assertThat(chunk).containsExactly(drifted, consistent);
+        Mockito.verify(taskRepository, Mockito.times(1)).incrementSubtaskCounters(List.of(1L), -1, 1);
+        Mockito.verify(taskRepository, Mockito.never()).incrementSubtaskCounters(ArgumentMatchers.eq(List.of(2L)),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+        Mockito.verify(taskCache, Mockito.times(1)).invalidateAllAfterCompletion();
     }
 
     @Test
@@ -220,15 +263,15 @@ class TaskServiceTest {
         var taskToUpdate = tasks.getFirst();
         var newStatus = TaskStatus.DONE;
 
-        BDDMockito.when(taskRepository.findById(taskToUpdate.getId()))
-                .thenThrow(NotFoundException.class);
+        BDDMockito.when(taskRepository.findByIdAndUserId(taskToUpdate.getId(), testUser.getId()))
+                .thenReturn(Optional.empty());
 
 
         Assertions.assertThatException().isThrownBy(
-                () -> taskService.updateStatus(newStatus, taskToUpdate.getId(), testUser.getId())
+                () -> taskService.updateStatus(newStatus, taskToUpdate.getId(), testUser.getId(), null)
         ).isInstanceOf(NotFoundException.class);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskToUpdate.getId());
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(taskToUpdate.getId(), testUser.getId());
         Mockito.verify(taskRepository, Mockito.times(0)).save(taskToUpdate);
     }
 
@@ -247,18 +290,20 @@ class TaskServiceTest {
 
         parentTask.getSubTasks().clear();
         parentTask.getSubTasks().add(subTask1);
+        parentTask.setSubtaskTotal(1);
+        parentTask.setSubtaskDone(0);
 
         var newStatus = TaskStatus.DONE;
 
-        BDDMockito.when(taskRepository.findById(parentTask.getId()))
+        BDDMockito.when(taskRepository.findByIdAndUserId(parentTask.getId(), testUser.getId()))
                 .thenReturn(Optional.of(parentTask));
 
 
         Assertions.assertThatException().isThrownBy(
-                () -> taskService.updateStatus(newStatus, parentTask.getId(), testUser.getId())
+                () -> taskService.updateStatus(newStatus, parentTask.getId(), testUser.getId(), null)
         ).isInstanceOf(BadRequestException.class);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(parentTask.getId());
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(parentTask.getId(), testUser.getId());
         Mockito.verify(taskRepository, Mockito.times(0)).save(parentTask);
     }
 
@@ -275,32 +320,91 @@ class TaskServiceTest {
         existingTask.setId(taskId);
         existingTask.setUser(testUser);
 
-        BDDMockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        BDDMockito.when(taskRepository.findByIdAndUserId(taskId, testUser.getId())).thenReturn(Optional.of(existingTask));
         BDDMockito.when(taskRepository.save(taskToUpdate)).thenReturn(taskToUpdate);
 
         Assertions.assertThatNoException().isThrownBy(
-                () -> taskService.update(taskToUpdate, testUser.getId())
+                () -> taskService.update(taskToUpdate, testUser.getId(), null)
         );
 
         Assertions.assertThat(taskToUpdate.getSubTasks()).isEqualTo(existingTask.getSubTasks());
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(taskId, testUser.getId());
         Mockito.verify(taskRepository, Mockito.times(1)).save(taskToUpdate);
     }
 
+    @Test
+    @DisplayName("patch changes only the fields sent when successful")
+    void patch_ChangesOnlySentFields_WhenSuccessful() {
+        var existingTask = taskUtils.newSavedTask();
+        existingTask.setUser(testUser);
+        var taskId = existingTask.getId();
+        var originalTitle = existingTask.getTitle();
+        var patch = new TaskPatchRequestDTO();
+        patch.setDescription(Optional.empty());
+        patch.setPriority(Optional.of(Priority.HIGH));
+
+        BDDMockito.when(taskRepository.findByIdAndUserId(taskId, testUser.getId())).thenReturn(Optional.of(existingTask));
+
+        var patchedTask = taskService.patch(taskId, patch, testUser.getId(), null);
+
+        Assertions.assertThat(patchedTask.getTitle()).isEqualTo(originalTitle);
+        Assertions.assertThat(patchedTask.getDescription()).isNull();
+        Assertions.assertThat(patchedTask.getPriority()).isEqualTo(Priority.HIGH);
+        Mockito.verify(taskRepository, Mockito.never()).save(existingTask);
+    }
+
+    @Test
+    @DisplayName("patch throws BadRequestException when completing a parent task with incomplete subtasks")
+    void patch_ThrowsBadRequestException_WhenParentTaskHasIncompleteSubTasks() {
+        var parentTask = taskUtils.newSavedTask();
+        parentTask.setUser(testUser);
+        parentTask.setStatus(TaskStatus.IN_PROGRESS);
+        parentTask.setSubtaskTotal(2);
+        parentTask.setSubtaskDone(1);
+        var patch = new TaskPatchRequestDTO();
+        patch.setStatus(Optional.of(TaskStatus.DONE));
+
+        BDDMockito.when(taskRepository.findByIdAndUserId(parentTask.getId(), testUser.getId())).thenReturn(Optional.of(parentTask));
+
+        Assertions.assertThatException().isThrownBy(
+                () -> taskService.patch(parentTask.getId(), patch, testUser.getId(), null)
+        ).isInstanceOf(BadRequestException.class);
+
+        Assertions.assertThat(parentTask.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("update throws PreconditionFailedException when If-Match does not match the current ETag")
+    void update_ThrowsPreconditionFailedException_WhenIfMatchIsStale() {
+        var taskToUpdate = taskUtils.newSavedTask();
+        var taskId = taskToUpdate.getId();
+        var existingTask = taskUtils.newSavedTask();
+        existingTask.setUser(testUser);
+        existingTask.setVersion(2L);
+
+        BDDMockito.when(taskRepository.findByIdAndUserId(taskId, testUser.getId())).thenReturn(Optional.of(existingTask));
+
+        Assertions.assertThatException().isThrownBy(
+                () -> taskService.update(taskToUpdate, testUser.getId(), "\"stale\"")
+        ).isInstanceOf(PreconditionFailedException.class);
+
+        Mockito.verify(taskRepository, Mockito.never()).save(taskToUpdate);
+    }
+
     @Test
     @DisplayName("update throws NotFoundException when task is not found")
     void update_ThrowsNotFoundException_WhenTaskIsNotFound() {
         var taskToUpdate = taskUtils.newSavedTask();
         var taskId = taskToUpdate.getId();
 
-        BDDMockito.when(taskRepository.findById(taskId))
-                .thenThrow(NotFoundException.class);
+        BDDMockito.when(taskRepository.findByIdAndUserId(taskId, testUser.getId()))
+                .thenReturn(Optional.empty());
 
         Assertions.assertThatException().isThrownBy(
-                () -> taskService.update(taskToUpdate, testUser.getId())
+                () -> taskService.update(taskToUpdate, testUser.getId(), null)
         ).isInstanceOf(NotFoundException.class);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(taskId, testUser.getId());
         Mockito.verify(taskRepository, Mockito.times(0)).save(taskToUpdate);
     }
 
@@ -311,15 +415,13 @@ class TaskServiceTest {
         var differentUser = new User(2L, "otheruser", "password", UserRole.USER);
         taskToDelete.setUser(differentUser);
 
-        BDDMockito.when(taskRepository.findById(taskToDelete.getId()))
-                .thenReturn(Optional.of(taskToDelete));
+        BDDMockito.when(taskRepository.existsById(taskToDelete.getId())).thenReturn(true);
 
         Assertions.assertThatException().isThrownBy(
-                () -> taskService.delete(taskToDelete.getId(), testUser.getId())
+                () -> taskService.delete(taskToDelete.getId(), testUser.getId(), null)
         ).isInstanceOf(ForbiddenException.class);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskToDelete.getId());
-        Mockito.verify(taskRepository, Mockito.times(0)).deleteById(taskToDelete.getId());
+        Mockito.verify(taskRepository, Mockito.never()).findById(taskToDelete.getId());
     }
 
     @Test
@@ -332,13 +434,14 @@ class TaskServiceTest {
         var parentTaskId = parentTask.getId();
         var subTaskToCreate = tasks.get(1);
 
-        BDDMockito.when(taskRepository.findById(parentTaskId)).thenReturn(Optional.of(parentTask));
+        BDDMockito.when(taskRepository.findByIdAndUserId(parentTaskId, testUser.getId())).thenReturn(Optional.empty());
+        BDDMockito.when(taskRepository.existsById(parentTaskId)).thenReturn(true);
 
         Assertions.assertThatException().isThrownBy(
                 () -> taskService.createSubTask(parentTaskId, subTaskToCreate, testUser.getId())
         ).isInstanceOf(ForbiddenException.class);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(parentTaskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findByIdAndUserId(parentTaskId, testUser.getId());
         Mockito.verify(taskRepository, Mockito.times(0)).save(subTaskToCreate);
     }
 }